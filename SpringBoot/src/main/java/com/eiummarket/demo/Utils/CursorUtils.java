@@ -0,0 +1,44 @@
+package com.eiummarket.demo.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 커서 토큰 인코딩. 정렬 키 값들을 '|' 로 이어 URL-safe Base64 로 감싼다.
+ * 내부 형식은 바뀔 수 있으므로 클라이언트는 받은 토큰을 그대로 돌려보내기만 해야 한다.
+ */
+public class CursorUtils {
+    private CursorUtils() {}
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public static String encode(Object... keys) {
+        StringBuilder sb = new StringBuilder();
+        for (Object key : keys) {
+            if (!sb.isEmpty()) sb.append('|');
+            sb.append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 키 개수가 맞지 않거나 디코딩할 수 없으면 IllegalArgumentException.
+     * 마지막 키는 나누지 않으므로 '|' 가 들어갈 수 있는 값(이름 등)은 마지막에 둔다.
+     */
+    public static String[] decode(String cursor, int keyCount) {
+        String[] keys;
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", keyCount);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+        if (keys.length != keyCount) throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        return keys;
+    }
+
+    /** 1 ~ MAX_SIZE 로 제한한 페이지 크기 */
+    public static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+}
@@ -0,0 +1,39 @@
+package com.eiummarket.demo.Utils;
+
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 시장·상점 목록 커서. 마지막으로 받은 행의 정렬 키 값과 ID 를 담아 (key, id) 다음 행부터 읽는다.
+ * 정렬 조건이 다른 요청에 이전 커서를 넘기면 거부한다.
+ */
+public record ListingCursor(Sort.Order order, Object key, Long id) {
+
+    public String encode() {
+        return CursorUtils.encode(order.getProperty(), order.getDirection(), id, key);
+    }
+
+    /** order 와 같은 정렬로 만든 커서만 받는다. cursor 가 비어 있으면 null (첫 페이지) */
+    public static ListingCursor parse(String cursor, Sort.Order order) {
+        if (cursor == null || cursor.isBlank()) return null;
+        String[] keys = CursorUtils.decode(cursor, 4);
+        if (!keys[0].equals(order.getProperty()) || !keys[1].equals(order.getDirection().name())) {
+            throw new IllegalArgumentException("커서와 정렬 조건이 다릅니다: " + order);
+        }
+        try {
+            return new ListingCursor(order, parseKey(order.getProperty(), keys[3]), Long.valueOf(keys[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+
+    private static Object parseKey(String property, String value) {
+        return switch (property) {
+            case "favoriteCount" -> Long.valueOf(value);
+            case "createdAt" -> LocalDateTime.parse(value);
+            default -> value;
+        };
+    }
+}
@@ -3,6 +3,7 @@ package com.eiummarket.demo.Utils;
 import com.eiummarket.demo.dto.MarketDto;
 import com.eiummarket.demo.model.Market;
 import com.eiummarket.demo.model.Shop;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
@@ -10,10 +11,26 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public class SearchUtils {
     private SearchUtils() {}
 
+    /** 상점 정렬 키 → 엔티티 경로. 평점 키는 Shop.rating 임베디드 컬럼을 그대로 쓴다 */
+    private static final Map<String, String> SHOP_SORT_PROPERTIES = Map.of(
+            "name", "name",
+            "favoriteCount", "favoriteCount",
+            "createdAt", "createdAt",
+            "ratingAverage", "rating.average",
+            "ratingCount", "rating.count");
+
+    /** 커서 목록에서 쓸 수 있는 정렬 키. 각각 (시장, 키, ID) 인덱스를 따라 읽는다 */
+    public static final Set<String> SHOP_KEYSET_PROPERTIES = Set.of("name", "favoriteCount", "createdAt");
+    public static final Set<String> MARKET_KEYSET_PROPERTIES = Set.of("name", "createdAt");
+
+    /** MySQL ngram_token_size 기본값. 이보다 짧은 키워드는 FULLTEXT 인덱스로 찾을 수 없다 */
+    public static final int FULLTEXT_MIN_LENGTH = 2;
+
     public static String sanitize(String keyword) {
         if (keyword == null) return null;
         String trimmed = keyword.trim();
@@ -26,6 +43,20 @@ public class SearchUtils {
                 .replace("%", "\\%")
                 .replace("_", "\\_");
     }
+    /** FULLTEXT 검색 가능한 길이인지 */
+    public static boolean isFulltextSearchable(String keyword) {
+        return keyword != null && keyword.strip().length() >= FULLTEXT_MIN_LENGTH;
+    }
+
+    /**
+     * boolean mode 에서 연속된 ngram 으로만 매칭되도록 큰따옴표 구문으로 감싼다.
+     * 연산자 문자는 공백으로 바꿔 구문 오류를 막는다.
+     */
+    public static String toFulltextPhrase(String keyword) {
+        String cleaned = keyword.replaceAll("[\"+\\-<>()~*@]", " ").strip();
+        return "\"" + cleaned + "\"";
+    }
+
     public static void addAllShops(Map<Long, Shop> target, List<Shop> source) {
         if (source == null) return;
         for (Shop s : source) if (s != null) target.putIfAbsent(s.getShopId(), s);
@@ -46,6 +77,8 @@ public class SearchUtils {
         for (Sort.Order order : pageable.getSort()) {
             Comparator<Shop> c = switch (order.getProperty()) {
                 case "favoriteCount" -> Comparator.comparingLong(s -> s.getFavoriteCount() == null ? 0L : s.getFavoriteCount());
+                case "ratingAverage" -> Comparator.comparingDouble(s -> s.getRating().getAverage());
+                case "ratingCount" -> Comparator.comparingLong(s -> s.getRating().getCount());
                 case "name" -> Comparator.comparing(Shop::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
                 case "createdAt" -> Comparator.comparing(Shop::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
                 default -> null;
@@ -61,15 +94,55 @@ public class SearchUtils {
         comp = comp.thenComparing(Comparator.comparing(Shop::getShopId, Comparator.nullsLast(Long::compareTo)));
         list.sort(comp);
     }
+    /**
+     * sortByPageableShop 과 같은 규칙을 DB 정렬로 옮긴 Pageable.
+     * 지원하지 않는 정렬 키는 버리고, 기본은 이름순이며 항상 shopId로 동순위를 정리한다.
+     */
+    public static Pageable toShopSortPageable(Pageable pageable) {
+        Sort sort = Sort.unsorted();
+        for (Sort.Order order : pageable.getSort()) {
+            String path = SHOP_SORT_PROPERTIES.get(order.getProperty());
+            if (path != null) {
+                sort = sort.and(Sort.by(order.getDirection(), path));
+            }
+        }
+        if (sort.isUnsorted()) sort = Sort.by("name");
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.and(Sort.by("shopId")));
+    }
+
+    /** 정렬 조건이 있을 때만 toShopSortPageable 을 적용한다 (정렬 없는 목록의 기존 순서 유지) */
+    public static Pageable toShopEntitySort(Pageable pageable) {
+        return pageable.getSort().isUnsorted() ? pageable : toShopSortPageable(pageable);
+    }
+
+    /**
+     * 커서 목록 정렬. 커서는 키 하나와 ID 만 담으므로 지원하는 첫 정렬 조건만 쓰고, 없으면 이름 오름차순.
+     * 동순위는 같은 방향의 ID 로 정리한다.
+     */
+    public static Sort.Order toKeysetOrder(Sort sort, Set<String> properties) {
+        for (Sort.Order order : sort) {
+            if (properties.contains(order.getProperty())) return new Sort.Order(order.getDirection(), order.getProperty());
+        }
+        return Sort.Order.asc("name");
+    }
+
     public static void sortByPageableMarket(List<Market> list, Pageable pageable) {
+        sortByPageableMarket(list, pageable, null);
+    }
+
+    /**
+     * scores(시장 ID → 관련도)가 주어지면 "score" 정렬을 지원하고, 정렬 조건이 없을 때 score 내림차순이 기본이 된다.
+     */
+    public static void sortByPageableMarket(List<Market> list, Pageable pageable, Map<Long, Double> scores) {
+        Comparator<Market> byName = Comparator.comparing(Market::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+        Comparator<Market> byScore = Comparator.comparingDouble(m -> scores == null ? 0.0 : scores.getOrDefault(m.getMarketId(), 0.0));
+
         if (pageable == null || pageable.getSort().isUnsorted()) {
-            Comparator<Market> defaultComp =
-                    Comparator.comparing(Market::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
-                            .thenComparing(Comparator.comparing(
-                                    Market::getMarketId,
-                                    Comparator.nullsLast(Long::compareTo)
-                            ));
-            list.sort(defaultComp);
+            Comparator<Market> defaultComp = (scores == null) ? byName : byScore.reversed().thenComparing(byName);
+            list.sort(defaultComp.thenComparing(Comparator.comparing(
+                    Market::getMarketId,
+                    Comparator.nullsLast(Long::compareTo)
+            )));
             return;
         }
 
@@ -77,10 +150,8 @@ public class SearchUtils {
 
         for (Sort.Order order : pageable.getSort()) {
             Comparator<Market> c = switch (order.getProperty()) {
-                case "name" -> Comparator.comparing(
-                        Market::getName,
-                        Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)
-                );
+                case "score" -> scores == null ? null : byScore;
+                case "name" -> byName;
                 case "createdAt" -> Comparator.comparing(
                         Market::getCreatedAt,
                         Comparator.nullsLast(Comparator.naturalOrder())
@@ -95,7 +166,7 @@ public class SearchUtils {
         }
 
         if (comp == null) {
-            comp = Comparator.comparing(Market::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+            comp = byName;
         }
         comp = comp.thenComparing(Comparator.comparing(
                 Market::getMarketId,
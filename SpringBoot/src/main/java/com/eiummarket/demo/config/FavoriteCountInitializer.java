@@ -0,0 +1,32 @@
+package com.eiummarket.demo.config;
+
+import com.eiummarket.demo.repository.FavoriteCountJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * shop.favorite_count 가 NOT NULL 이 되기 전에 쓰인 NULL 행을 0 으로 채운다.
+ * 찜 수는 커서 목록의 정렬 키라 NULL 행은 (키, ID) 비교에서 빠지고 커서에도 담을 수 없다.
+ * ddl-auto=update 는 기존 컬럼의 NULL 허용을 바꾸지 않으므로 값만 맞춰 둔다. 평소 기동 시에는 UPDATE 한 번.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FavoriteCountInitializer {
+
+    private final FavoriteCountJdbcRepository favoriteCountJdbcRepository;
+
+    @Value("${favorite.backfill.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!enabled) return;
+        int updated = favoriteCountJdbcRepository.zeroNullFavoriteCounts();
+        if (updated > 0) log.info("Set favorite_count = 0 on {} shops", updated);
+    }
+}
@@ -0,0 +1,58 @@
+package com.eiummarket.demo.config;
+
+import com.eiummarket.demo.service.search.ShopSearchBackend;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * FULLTEXT 검색을 켠 경우, TEXT 설명 컬럼에 ngram 파서 FULLTEXT 인덱스가 없으면 생성한다.
+ * (ddl-auto 로는 FULLTEXT 인덱스를 만들 수 없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FulltextIndexInitializer {
+
+    private static final List<String[]> INDEXES = List.of(
+            new String[]{"shop", "ft_shop_description", "description"},
+            new String[]{"item", "ft_item_description", "description"},
+            new String[]{"market", "ft_market_description", "description"}
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${search.shop.backend:INDEX}")
+    private ShopSearchBackend shopBackend;
+
+    @Value("${search.market.fulltext.enabled:false}")
+    private boolean marketFulltextEnabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (shopBackend != ShopSearchBackend.FULLTEXT && !marketFulltextEnabled) return;
+
+        for (String[] index : INDEXES) {
+            String table = index[0], name = index[1], column = index[2];
+            try {
+                Integer exists = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM information_schema.statistics " +
+                                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                        Integer.class, table, name);
+                if (exists != null && exists > 0) continue;
+
+                log.info("Creating FULLTEXT index {} on {}({}) with ngram parser", name, table, column);
+                jdbcTemplate.execute("ALTER TABLE " + table + " ADD FULLTEXT INDEX " + name
+                        + " (" + column + ") WITH PARSER ngram");
+            } catch (Exception e) {
+                log.warn("Could not provision FULLTEXT index {} on {}: {}", name, table, e.getMessage());
+            }
+        }
+    }
+}
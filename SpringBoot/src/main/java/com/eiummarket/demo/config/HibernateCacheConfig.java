@@ -0,0 +1,41 @@
+package com.eiummarket.demo.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Category / Market 같은 참조 데이터용 Hibernate 2차 캐시 (Caffeine JCache).
+ * 리전 크기·만료는 hibernate-cache.conf, 적중률은 Actuator 의 hibernate.second.level.cache.requests /
+ * hibernate.cache.query.requests 지표로 확인한다. cache.l2.enabled=false 로 끌 수 있음.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Value("${cache.l2.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.l2.statistics:true}")
+    private boolean statistics;
+
+    @Value("${cache.l2.config:hibernate-cache.conf}")
+    private String configUri;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return props -> {
+            props.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            props.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            props.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+            if (!enabled) return;
+            props.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            props.put("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+            // 클래스패스 리소스 이름으로 찾는다 (classpath: 접두어 없이)
+            props.put("hibernate.javax.cache.uri", configUri);
+            // conf 에 없는 리전(쿼리 타임스탬프 등)은 기본 설정으로 만든다
+            props.put("hibernate.javax.cache.missing_cache_strategy", "create");
+        };
+    }
+}
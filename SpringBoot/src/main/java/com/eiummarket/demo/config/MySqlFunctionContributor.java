@@ -0,0 +1,22 @@
+package com.eiummarket.demo.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * JPQL에서 MySQL 전용 구문을 쓰기 위한 함수 등록.
+ * match_against(col, :q) → MATCH(col) AGAINST(:q IN BOOLEAN MODE)
+ * (META-INF/services 로 Hibernate에 등록된다)
+ */
+public class MySqlFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                "match_against",
+                "match(?1) against(?2 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE)
+        );
+    }
+}
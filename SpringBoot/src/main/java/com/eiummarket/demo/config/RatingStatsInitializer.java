@@ -0,0 +1,41 @@
+package com.eiummarket.demo.config;
+
+import com.eiummarket.demo.repository.ItemRepository;
+import com.eiummarket.demo.repository.ReviewRepository;
+import com.eiummarket.demo.repository.ShopRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 평점 집계 컬럼의 리뷰 수 합이 리뷰 테이블과 다르면(컬럼 추가 전에 쓰인 리뷰가 있으면) 리뷰 테이블에서 다시 계산한다.
+ * 이후에는 ReviewService 가 리뷰마다 증감하므로, 평소 기동 시에는 합계 조회 두 번만 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RatingStatsInitializer {
+
+    private final ShopRepository shopRepository;
+    private final ItemRepository itemRepository;
+    private final ReviewRepository reviewRepository;
+
+    @Value("${rating.backfill.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (!enabled) return;
+        if (shopRepository.sumRatingCounts() != reviewRepository.countByShopIsNotNull()) {
+            log.info("Recomputing shop rating aggregates from reviews ({} shops)", shopRepository.recomputeRatings());
+        }
+        if (itemRepository.sumRatingCounts() != reviewRepository.countByItemIsNotNull()) {
+            log.info("Recomputing item rating aggregates from reviews ({} items)", itemRepository.recomputeRatings());
+        }
+    }
+}
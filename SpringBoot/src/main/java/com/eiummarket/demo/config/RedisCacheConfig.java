@@ -0,0 +1,28 @@
+package com.eiummarket.demo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * 상세 응답 캐시({@link com.eiummarket.demo.service.cache.DetailCache})용 Redis 템플릿.
+ * 값은 캐시가 직접 CBOR 로 인코딩하므로 바이트 배열 그대로 주고받는다.
+ * 접속 정보는 spring.data.redis.* (기본 localhost:6379).
+ */
+@Configuration
+public class RedisCacheConfig {
+
+    @Bean
+    public ReactiveRedisTemplate<String, byte[]> detailCacheRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        RedisSerializationContext<String, byte[]> context = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .hashKey(RedisSerializer.string())
+                .hashValue(RedisSerializer.byteArray())
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+}
@@ -0,0 +1,37 @@
+package com.eiummarket.demo.config;
+
+import com.eiummarket.demo.event.CategoryChangedEvent;
+import com.eiummarket.demo.event.ChangeType;
+import com.eiummarket.demo.model.Shop;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+/**
+ * 카테고리 삭제 시 shop_categories 연결은 DB 에서 지워지고 Hibernate 는 이를 모르므로,
+ * 커밋 후 영향받은 상점의 Shop.categories 컬렉션 캐시를 직접 비운다.
+ * (엔티티 변경·삭제와 쿼리 캐시는 Hibernate 가 알아서 무효화한다)
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheEvictionListener {
+
+    private static final String SHOP_CATEGORIES_ROLE = Shop.class.getName() + ".categories";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getType() != ChangeType.DELETED) return;
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        for (Set<Long> shopIds : event.getAffectedShops().values()) {
+            for (Long shopId : shopIds) {
+                cache.evictCollectionData(SHOP_CATEGORIES_ROLE, shopId);
+            }
+        }
+    }
+}
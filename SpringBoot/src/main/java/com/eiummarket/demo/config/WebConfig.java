@@ -1,6 +1,8 @@
 // src/main/java/com/eiummarket/demo/config/WebConfig.java
 package com.eiummarket.demo.config;
 
+import com.eiummarket.demo.monitoring.EndpointQueryInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.*;
@@ -9,8 +11,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final EndpointQueryInterceptor endpointQueryInterceptor;
+
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
 
@@ -25,4 +30,9 @@ public class WebConfig implements WebMvcConfigurer {
         String pattern = publicBase.endsWith("/") ? publicBase + "**" : publicBase + "/**";
         registry.addResourceHandler(pattern).addResourceLocations(location);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(endpointQueryInterceptor);
+    }
 }
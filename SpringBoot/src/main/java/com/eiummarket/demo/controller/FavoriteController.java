@@ -38,7 +38,7 @@ public class FavoriteController {
 
     @Operation(summary = "찜 목록 조회", description = "특정 시장의 찜 목록을 조회합니다.")
     @GetMapping("/favorites")
-    public ResponseEntity<Page<ShopDto.Response>> listFavorites(
+    public ResponseEntity<Page<ShopDto.Card>> listFavorites(
             @PathVariable Long marketId,
             Pageable pageable) {
         return ResponseEntity.ok(favoriteService.listFavorites(marketId, pageable));
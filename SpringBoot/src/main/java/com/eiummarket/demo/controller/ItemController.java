@@ -12,8 +12,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -33,11 +35,15 @@ public class ItemController {
     }
 
     @GetMapping("/markets/{marketId}/shops/{shopId}/items/{itemId}")
-    @Operation(summary = "상품 상세 조회", description = "상품 ID로 상품 정보를 조회합니다.")
+    @Operation(summary = "상품 상세 조회", description = "상품 ID로 상품 정보를 조회합니다. If-None-Match 가 현재 ETag 와 같으면 본문 없이 304 를 반환합니다.")
     public ResponseEntity<ItemDto.Response> getItem(@PathVariable Long marketId,
                                                     @PathVariable Long shopId,
-                                                    @PathVariable Long itemId) {
-        return ResponseEntity.ok(itemService.getItem(marketId, shopId, itemId));
+                                                    @PathVariable Long itemId,
+                                                    WebRequest webRequest) {
+        String etag = itemService.getItemETag(marketId, shopId, itemId);
+        if (webRequest.checkNotModified(etag)) return null;
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(itemService.getItem(marketId, shopId, itemId));
     }
     @GetMapping("/items")
     @Operation(summary = "상점 내 상품 불러오기", description = "상점에서 취급하는 상품을 페이지네이션으로 조회합니다.")
@@ -0,0 +1,34 @@
+package com.eiummarket.demo.controller;
+
+import com.eiummarket.demo.dto.MapDto;
+import com.eiummarket.demo.service.MapService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/map")
+@RequiredArgsConstructor
+@Tag(name = "Map API", description = "지도 화면용 시장/상점 묶음 API")
+public class MapController {
+
+    private final MapService mapService;
+
+    @GetMapping("/clusters")
+    @Operation(summary = "지도 영역 묶음 조회", description = "화면 영역 안의 시장과 상점을 줌 레벨에 맞는 격자 단위로 묶어 반환합니다.")
+    public ResponseEntity<List<MapDto.Cluster>> clusters(
+            @Parameter(description = "화면 영역 minLng,minLat,maxLng,maxLat", example = "126.90,37.50,127.05,37.60")
+            @RequestParam String bbox,
+            @Parameter(description = "지도 줌 레벨 (0~20)", example = "14")
+            @RequestParam int zoom) {
+        return ResponseEntity.ok(mapService.getClusters(bbox, zoom));
+    }
+}
@@ -1,5 +1,6 @@
 package com.eiummarket.demo.controller;
 
+import com.eiummarket.demo.dto.CursorPage;
 import com.eiummarket.demo.dto.ShopDto;
 import io.swagger.v3.oas.annotations.Parameter;
 import org.springdoc.core.annotations.ParameterObject;
@@ -20,8 +21,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/markets")
@@ -41,9 +47,12 @@ public class MarketController {
     }
 
     @GetMapping("/{marketId}")
-    @Operation(summary = "시장 단일 조회", description = "ID로 시장 정보를 조회합니다.")
-    public ResponseEntity<MarketDto.Response> get(@PathVariable Long marketId) {
-        return ResponseEntity.ok(marketService.get(marketId));
+    @Operation(summary = "시장 단일 조회", description = "ID로 시장 정보를 조회합니다. If-None-Match 가 현재 ETag 와 같으면 본문 없이 304 를 반환합니다.")
+    public ResponseEntity<MarketDto.Response> get(@PathVariable Long marketId, WebRequest webRequest) {
+        String etag = marketService.getMarketETag(marketId);
+        if (webRequest.checkNotModified(etag)) return null;
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(marketService.get(marketId, etag));
     }
 
     @GetMapping
@@ -52,6 +61,15 @@ public class MarketController {
         return ResponseEntity.ok(marketService.list(pageable));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "시장 목록 조회 (커서)", description = "무한 스크롤용 시장 목록입니다. 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 반환하며, 전체 개수는 세지 않습니다. 정렬은 name, createdAt 중 하나(기본 name,asc)입니다.")
+    public ResponseEntity<CursorPage<MarketDto.Response>> scroll(
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지면 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20") @RequestParam(defaultValue = "20") int size,
+            @ParameterObject Sort sort) {
+        return ResponseEntity.ok(marketService.scroll(cursor, size, sort));
+    }
+
     @PatchMapping(value = "/{marketId}", consumes = {"multipart/form-data"})
     @Operation(summary = "시장 부분 수정", description = "전달된 필드만 부분 업데이트합니다.")
     public ResponseEntity<MarketDto.Response> update(@PathVariable Long marketId,
@@ -76,6 +94,21 @@ public class MarketController {
         return ResponseEntity.ok(marketService.searchMarkets(q,pageable));
     }
 
+    @GetMapping("/nearby")
+    @Operation(summary = "주변 시장 조회", description = "기준 좌표에서 반경 이내의 시장을 가까운 순으로 반환합니다.")
+    public ResponseEntity<List<MarketDto.NearbyResponse>> nearby(
+            @Parameter(description = "기준 위도", example = "37.559980")
+            @RequestParam double lat,
+            @Parameter(description = "기준 경도", example = "126.978400")
+            @RequestParam double lng,
+            @Parameter(description = "검색 반경(km, 최대 50)", example = "3")
+            @RequestParam(defaultValue = "3") double radiusKm,
+            @Parameter(description = "최대 결과 수 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(marketService.findNearby(lat, lng, radiusKm, limit));
+    }
+
     @GetMapping("/check-exist")
     @Operation(summary = "시장 존재 여부 확인", description = "시장 이름 또는 주소로 시장의 존재 여부를 확인합니다.")
     public ResponseEntity<Boolean> checkMarketExistence(
@@ -1,9 +1,11 @@
 // src/main/java/com/eiummarket/demo/controller/ReviewController.java
 package com.eiummarket.demo.controller;
 
+import com.eiummarket.demo.dto.CursorPage;
 import com.eiummarket.demo.dto.ReviewDto;
 import com.eiummarket.demo.service.ReviewService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -41,6 +43,24 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.listByItem(itemId, pageable));
     }
 
+    @GetMapping("/shops/{shopId}/reviews/scroll")
+    @Operation(summary = "상점 리뷰 목록 (커서)", description = "상점 리뷰를 최신순으로 조회합니다. 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 반환하며, 전체 개수는 세지 않습니다.")
+    public ResponseEntity<CursorPage<ReviewDto.Response>> scrollByShop(
+            @PathVariable Long shopId,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지면 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.scrollByShop(shopId, cursor, size));
+    }
+
+    @GetMapping("/items/{itemId}/reviews/scroll")
+    @Operation(summary = "상품 리뷰 목록 (커서)", description = "상품 리뷰를 최신순으로 조회합니다. 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 반환하며, 전체 개수는 세지 않습니다.")
+    public ResponseEntity<CursorPage<ReviewDto.Response>> scrollByItem(
+            @PathVariable Long itemId,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지면 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.scrollByItem(itemId, cursor, size));
+    }
+
     @PatchMapping(value="/reviews/{reviewId}", consumes = {"multipart/form-data"})
     @Operation(summary = "리뷰 수정", description = "리뷰의 평점/내용을 수정합니다.")
     public ResponseEntity<ReviewDto.Response> update(@PathVariable Long reviewId,
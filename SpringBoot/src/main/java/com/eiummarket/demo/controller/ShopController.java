@@ -1,5 +1,6 @@
 package com.eiummarket.demo.controller;
 
+import com.eiummarket.demo.dto.CursorPage;
 import com.eiummarket.demo.dto.ShopDto;
 import com.eiummarket.demo.service.AiImageService;
 import com.eiummarket.demo.service.MarketService;
@@ -15,8 +16,13 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -46,19 +52,37 @@ public class ShopController {
             description = "특정 시장에 속한 모든 혹은 특정 카테고리의 상점을 페이지네이션으로 조회합니다.")
     @ApiResponse(responseCode = "200", description = "조회 성공",
             content = @Content(schema = @Schema(implementation = Page.class)))
-    public ResponseEntity<Page<ShopDto.Response>> listShops(
+    public ResponseEntity<Page<ShopDto.Card>> listShops(
             @PathVariable Long marketId,
             @RequestParam(value = "categoryId", required = false) Long categoryId,
             Pageable pageable) {
         return ResponseEntity.ok(shopService.getShops(marketId, categoryId, pageable));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "시장 내 상점 목록 (커서)",
+            description = "무한 스크롤용 상점 목록입니다. 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 반환하며, 전체 개수는 세지 않습니다. 정렬은 name, favoriteCount, createdAt 중 하나(기본 name,asc)입니다.")
+    public ResponseEntity<CursorPage<ShopDto.Card>> scrollShops(
+            @PathVariable Long marketId,
+            @RequestParam(value = "categoryId", required = false) Long categoryId,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지면 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20") @RequestParam(defaultValue = "20") int size,
+            @ParameterObject Sort sort) {
+        return ResponseEntity.ok(shopService.scrollShops(marketId, categoryId, cursor, size, sort));
+    }
+
     @GetMapping("/{shopId}")
-    @Operation(summary = "상점 상세 조회", description = "시장 내 특정 상점 정보를 조회합니다.")
+    @Operation(summary = "상점 상세 조회", description = "시장 내 특정 상점 정보를 조회합니다. If-None-Match 가 현재 ETag 와 같으면 본문 없이 304 를 반환합니다.")
     public ResponseEntity<ShopDto.Response> getShop(
             @PathVariable Long marketId,
-            @PathVariable Long shopId) {
-        return ResponseEntity.ok(shopService.getShop(marketId, shopId));
+            @PathVariable Long shopId,
+            WebRequest webRequest) {
+        // 버전만 먼저 읽어 바뀌지 않았으면 상세 응답을 만들지 않는다 (응답보다 먼저 읽어야 ETag 가 본문보다 새로울 수 없다)
+        String etag = shopService.getShopETag(marketId, shopId);
+        shopService.recordView(marketId, shopId);
+        if (webRequest.checkNotModified(etag)) return null;
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(shopService.getShop(marketId, shopId, etag));
     }
 
     @PatchMapping(value = "/{shopId}", consumes = {"multipart/form-data"})
@@ -84,7 +108,7 @@ public class ShopController {
 
     @GetMapping("/search")
     @Operation(summary = "시장 내 가게 검색", description = "시장에 파라미터를 포함한 물건, 카테고리를 판매중인 가게 혹은 가게명이 있는지 검색 후 페이지네이션해 반환합니다.")
-    public ResponseEntity<Page<ShopDto.Response>> searchShopList(
+    public ResponseEntity<Page<ShopDto.Card>> searchShopList(
             @PathVariable Long marketId,
             @Parameter(description = "검색어(대소문자 무시, 부분 일치)", example = "상추")
             @RequestParam(value = "keyword") String search,
@@ -92,6 +116,26 @@ public class ShopController {
         return ResponseEntity.ok(shopService.searchShops(marketId, search, pageable));
     }
 
+    @GetMapping("/trending")
+    @Operation(summary = "시장 내 인기 상점", description = "최근 7일 동안의 조회·찜·리뷰를 가중 합산한 점수가 높은 순으로 상점을 반환합니다.")
+    public ResponseEntity<List<ShopDto.Card>> trendingShops(
+            @PathVariable Long marketId,
+            @Parameter(description = "최대 상점 수 (최대 50)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(shopService.getTrendingShops(marketId, limit));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "가게 검색어 자동완성", description = "가게명, 카테고리명, 상품명 중 접두어가 일치하는 제안을 찜 수가 많은 순으로 반환합니다.")
+    public ResponseEntity<List<ShopDto.Suggestion>> autocomplete(
+            @PathVariable Long marketId,
+            @Parameter(description = "입력 중인 검색어 접두어", example = "김")
+            @RequestParam String prefix,
+            @Parameter(description = "최대 제안 수 (최대 20)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(shopService.autocomplete(marketId, prefix, limit));
+    }
+
 
     // ======== AI 관련 API ========
 
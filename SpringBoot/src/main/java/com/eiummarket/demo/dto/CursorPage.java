@@ -0,0 +1,44 @@
+package com.eiummarket.demo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 기반 목록 응답. 전체 개수를 세지 않으므로 어느 위치의 페이지든 비용이 같다.
+ * 다음 페이지는 nextCursor 를 cursor 파라미터로 넘겨 요청한다.
+ */
+@Getter
+@Schema(name = "CursorPage", description = "커서 기반 목록 응답")
+public class CursorPage<T> {
+
+    @Schema(description = "목록")
+    private final List<T> content;
+
+    @Schema(description = "다음 페이지 커서 (마지막 페이지면 null)", example = "MjAyNS0wOC0xM1QyMDoxNTozMHwxMg")
+    private final String nextCursor;
+
+    @Schema(description = "다음 페이지 존재 여부", example = "true")
+    private final boolean hasNext;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    /**
+     * size+1 개를 조회한 결과로 페이지를 만든다. 남는 1개가 있으면 size 번째 항목의 커서를 다음 커서로 쓴다.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) return new CursorPage<>(rows, null);
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)));
+    }
+
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> converter) {
+        return new CursorPage<>(converter.apply(content), nextCursor);
+    }
+}
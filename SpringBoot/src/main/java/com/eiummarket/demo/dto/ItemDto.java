@@ -93,5 +93,14 @@ public class ItemDto {
 
         @Schema(description = "상품 이미지 URL 목록")
         private List<String> imageUrls;
+
+        @Schema(description = "평균 평점 (리뷰가 없으면 0)", example = "4.5")
+        private Double ratingAverage;
+
+        @Schema(description = "리뷰 수", example = "12")
+        private Long ratingCount;
+
+        @Schema(description = "1~5점 리뷰 개수 (1점부터)", example = "[0,0,1,3,8]")
+        private List<Long> ratingHistogram;
     }
 }
@@ -0,0 +1,32 @@
+package com.eiummarket.demo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+public class MapDto {
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    @Schema(name = "MapCluster", description = "지도 화면용 묶음 좌표")
+    public static class Cluster {
+        @Schema(description = "묶음 종류 (MARKET, SHOP: 단일 지점 / CLUSTER: 여러 지점)", example = "CLUSTER")
+        private String type;
+
+        @Schema(description = "묶음 중심 위도", example = "37.559980")
+        private double latitude;
+
+        @Schema(description = "묶음 중심 경도", example = "126.978400")
+        private double longitude;
+
+        @Schema(description = "묶인 시장 수", example = "2")
+        private int marketCount;
+
+        @Schema(description = "묶인 상점 수", example = "35")
+        private int shopCount;
+
+        @Schema(description = "단일 시장/상점일 때 시장 ID", example = "1")
+        private Long marketId;
+
+        @Schema(description = "단일 상점일 때 상점 ID", example = "10")
+        private Long shopId;
+    }
+}
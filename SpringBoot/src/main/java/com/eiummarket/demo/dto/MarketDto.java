@@ -98,4 +98,26 @@ public class MarketDto {
         @Schema(description = "시장 이미지 URL 목록")
         private List<String> imageUrls;
     }
-}
\ No newline at end of file
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    @Schema(name = "MarketNearbyResponse", description = "주변 시장 응답 데이터")
+    public static class NearbyResponse {
+        @Schema(description = "시장 고유 ID", example = "1")
+        private Long marketId;
+
+        @Schema(description = "시장 이름", example = "남대문시장")
+        private String name;
+
+        @Schema(description = "시장 주소", example = "서울특별시 중구 남대문시장4길 21")
+        private String address;
+
+        @Schema(description = "시장 위도(DECIMAL 9,6)", example = "37.559980")
+        private BigDecimal latitude;
+
+        @Schema(description = "시장 경도(DECIMAL 9,6)", example = "126.978400")
+        private BigDecimal longitude;
+
+        @Schema(description = "기준 위치로부터의 거리(km)", example = "1.24")
+        private Double distanceKm;
+    }
+}
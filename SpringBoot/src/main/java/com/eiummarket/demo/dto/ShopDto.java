@@ -105,7 +105,7 @@ public class ShopDto {
 
     }
 
-    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder(toBuilder = true)
     @Schema(name = "ShopResponse", description = "상점 응답 데이터")
     public static class Response {
         @Schema(description = "상점 고유 ID", example = "1")
@@ -144,6 +144,15 @@ public class ShopDto {
         @Schema(description = "찜한 사용자 수", example = "5")
         private Long favoriteCount;
 
+        @Schema(description = "평균 평점 (리뷰가 없으면 0)", example = "4.5")
+        private Double ratingAverage;
+
+        @Schema(description = "리뷰 수", example = "12")
+        private Long ratingCount;
+
+        @Schema(description = "1~5점 리뷰 개수 (1점부터)", example = "[0,0,1,3,8]")
+        private List<Long> ratingHistogram;
+
         @Schema(description = "검색 시 매칭된 키워드")
         private List<String> matchedKeywords;
 
@@ -158,4 +167,54 @@ public class ShopDto {
 
     }
 
-}
\ No newline at end of file
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    @Schema(name = "ShopCard", description = "상점 목록용 요약 데이터")
+    public static class Card {
+        @Schema(description = "상점 고유 ID", example = "1")
+        private Long shopId;
+
+        @Schema(description = "시장 ID", example = "1")
+        private Long marketId;
+
+        @Schema(description = "상점 이름", example = "김밥천국")
+        private String name;
+
+        @Schema(description = "카테고리 ID 목록", example = "[1,2]")
+        private List<Long> categoryIds;
+
+        @Schema(description = "대표 이미지 URL")
+        private String imageUrl;
+
+        @Schema(description = "찜한 사용자 수", example = "5")
+        private Long favoriteCount;
+
+        @Schema(description = "평균 평점 (리뷰가 없으면 0)", example = "4.5")
+        private Double ratingAverage;
+
+        @Schema(description = "리뷰 수", example = "12")
+        private Long ratingCount;
+
+        @Schema(description = "상점 위치/층수", example = "A-02호")
+        private String floor;
+    }
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    @Schema(name = "ShopSuggestion", description = "상점 검색어 자동완성 항목")
+    public static class Suggestion {
+        @Schema(description = "제안 문구", example = "김밥천국")
+        private String text;
+
+        @Schema(description = "제안 출처 (SHOP, CATEGORY, ITEM)", example = "SHOP")
+        private String type;
+
+        @Schema(description = "대표 상점 ID", example = "1")
+        private Long shopId;
+
+        @Schema(description = "대표 상점 이름", example = "김밥천국")
+        private String shopName;
+
+        @Schema(description = "대표 상점의 찜한 사용자 수", example = "5")
+        private Long favoriteCount;
+    }
+
+}
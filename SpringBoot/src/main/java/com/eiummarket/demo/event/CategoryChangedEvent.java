@@ -0,0 +1,19 @@
+package com.eiummarket.demo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 카테고리 생성/삭제 이벤트.
+ * 삭제 시점에는 연결이 이미 끊겨 있으므로, 영향받는 상점(시장 ID → 상점 ID)을 미리 담아 보낸다.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+    private final Long categoryId;
+    private final ChangeType type;
+    private final Map<Long, Set<Long>> affectedShops;
+}
@@ -0,0 +1,10 @@
+package com.eiummarket.demo.event;
+
+/**
+ * 엔티티 변경 종류
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,15 @@
+package com.eiummarket.demo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 찜 수 변경 이벤트 (delta: +1 찜, -1 찜 취소)
+ */
+@Getter
+@AllArgsConstructor
+public class FavoriteChangedEvent {
+    private final Long marketId;
+    private final Long shopId;
+    private final long delta;
+}
@@ -0,0 +1,14 @@
+package com.eiummarket.demo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 시장 생성/수정/삭제 이벤트 (커밋 이후 리스너에서 처리)
+ */
+@Getter
+@AllArgsConstructor
+public class MarketChangedEvent {
+    private final Long marketId;
+    private final ChangeType type;
+}
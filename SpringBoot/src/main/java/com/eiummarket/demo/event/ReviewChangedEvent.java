@@ -0,0 +1,17 @@
+package com.eiummarket.demo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 리뷰 생성/수정/삭제 이벤트. 상품 리뷰도 상품이 속한 상점 ID 를 함께 싣는다 (itemId 는 상점 리뷰면 null)
+ */
+@Getter
+@AllArgsConstructor
+public class ReviewChangedEvent {
+    private final Long marketId;
+    private final Long shopId;
+    private final Long itemId;
+    private final Long reviewId;
+    private final ChangeType type;
+}
@@ -0,0 +1,15 @@
+package com.eiummarket.demo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상점 생성/수정/삭제 이벤트 (커밋 이후 리스너에서 처리)
+ */
+@Getter
+@AllArgsConstructor
+public class ShopChangedEvent {
+    private final Long marketId;
+    private final Long shopId;
+    private final ChangeType type;
+}
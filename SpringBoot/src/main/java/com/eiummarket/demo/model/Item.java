@@ -56,10 +56,19 @@ public class Item {
     @Builder.Default
     private List<Review> reviews = new ArrayList<>();
 
+    @Embedded
+    @Builder.Default
+    @Schema(description = "리뷰 평점 집계")
+    private RatingStats rating = new RatingStats();
+
     @Column(name="created_at")
     @CreationTimestamp
     @Schema(description = "상품 생성 시간", example = "2025-08-13T20:15:30")
     private LocalDateTime createdAt;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    @Schema(description = "상품 버전 (상품·이미지가 바뀔 때마다 증가, ETag 로 사용)", example = "3")
+    private Long version;
 
 }
@@ -3,6 +3,8 @@ package com.eiummarket.demo.model;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
@@ -16,7 +18,12 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "market")
+@Table(name = "market", indexes = {
+        // 커서 목록: (정렬 키, ID) 순서로 읽는다
+        @Index(name = "idx_market_name", columnList = "name, market_id"),
+        @Index(name = "idx_market_created", columnList = "created_at, market_id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "market")
 @Schema(name = "Market", description = "시장 정보를 나타내는 엔티티")
 public class Market {
 
@@ -52,6 +59,11 @@ public class Market {
     @Schema(description = "시장 정보 생성 일시", example = "2025-08-13T20:15:30")
     private LocalDateTime createdAt;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    @Schema(description = "시장 버전 (시장·이미지가 바뀔 때마다 증가, ETag 로 사용)", example = "3")
+    private Long version;
+
     @OneToMany(mappedBy = "market", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Shop> shops = new ArrayList<>();
@@ -0,0 +1,66 @@
+package com.eiummarket.demo.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.List;
+
+/**
+ * 상점/상품의 리뷰 평점 집계 (개수, 합, 평균, 별점별 개수).
+ * 리뷰 생성·수정·삭제 시 ReviewService 가 RatingStatsJdbcRepository 의 UPDATE 로 증감하므로 엔티티에서 직접 고치지 않는다.
+ * 평균은 정렬 키로 쓰기 위해 따로 저장한다.
+ * 기본값은 columnDefinition 이 아니라 @ColumnDefault 로 준다 (columnDefinition 은 UPDATE 파라미터의 CAST 타입으로도 쓰인다).
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(name = "RatingStats", description = "리뷰 평점 집계")
+public class RatingStats {
+
+    @Column(name = "rating_count", nullable = false)
+    @ColumnDefault("0")
+    private long count;
+
+    @Column(name = "rating_sum", nullable = false)
+    @ColumnDefault("0")
+    private long sum;
+
+    @Column(name = "rating_avg", nullable = false)
+    @ColumnDefault("0")
+    private double average;
+
+    @Column(name = "rating_1", nullable = false)
+    @ColumnDefault("0")
+    private long star1;
+
+    @Column(name = "rating_2", nullable = false)
+    @ColumnDefault("0")
+    private long star2;
+
+    @Column(name = "rating_3", nullable = false)
+    @ColumnDefault("0")
+    private long star3;
+
+    @Column(name = "rating_4", nullable = false)
+    @ColumnDefault("0")
+    private long star4;
+
+    @Column(name = "rating_5", nullable = false)
+    @ColumnDefault("0")
+    private long star5;
+
+    /** 1점부터 5점까지의 리뷰 개수 */
+    public List<Long> histogram() {
+        return List.of(star1, star2, star3, star4, star5);
+    }
+
+    /** 응답용: 소수 첫째 자리까지 반올림한 평균 */
+    public static double round(double average) {
+        return Math.round(average * 10) / 10.0;
+    }
+}
@@ -11,7 +11,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
-@Table(name = "review")
+@Table(name = "review", indexes = {
+        // 커서 목록(최신순) 용: 대상 ID 로 범위를 좁힌 뒤 (created_at, review_id) 순서 그대로 읽고 멈춘다
+        @Index(name = "idx_review_shop_created", columnList = "shop_id, created_at, review_id"),
+        @Index(name = "idx_review_item_created", columnList = "item_id, created_at, review_id")
+})
 @Schema(name = "Review", description = "리뷰 (Shop/Item 중 하나에 속함)")
 public class Review {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
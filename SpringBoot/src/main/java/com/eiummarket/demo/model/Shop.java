@@ -4,6 +4,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
@@ -17,7 +20,12 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "shop")
+@Table(name = "shop", indexes = {
+        // 시장 내 커서 목록: (시장, 정렬 키, ID) 순서로 읽는다
+        @Index(name = "idx_shop_market_name", columnList = "market_id, name, shop_id"),
+        @Index(name = "idx_shop_market_favorite", columnList = "market_id, favorite_count, shop_id"),
+        @Index(name = "idx_shop_market_created", columnList = "market_id, created_at, shop_id")
+})
 @Schema(name = "Shop", description = "상점 정보를 나타내는 엔티티")
 public class Shop {
 
@@ -70,11 +78,20 @@ public class Shop {
     @Builder.Default
     private List<Item> items = new ArrayList<>();
 
-    @Column(name = "favorite_count")
+    /** 커서 목록의 정렬 키라 NULL 을 두지 않는다 (이전 행은 FavoriteCountInitializer 가 0 으로 채움) */
+    @Column(name = "favorite_count", nullable = false)
+    @ColumnDefault("0")
     @Schema(description = "찜 개수", example = "120")
-    private Long favoriteCount;
+    @Builder.Default
+    private Long favoriteCount = 0L;
+
+    @Embedded
+    @Builder.Default
+    @Schema(description = "리뷰 평점 집계")
+    private RatingStats rating = new RatingStats();
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "shop-categories")
     @JoinTable(name = "shop_categories",
             joinColumns = @JoinColumn(name = "shop_id"),
             inverseJoinColumns = @JoinColumn(name = "category_id"))
@@ -94,5 +111,10 @@ public class Shop {
     @Schema(description = "상점 정보 생성 일시", example = "2025-08-13T20:15:30")
     private LocalDateTime createdAt;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    @Schema(description = "상점 버전 (상점·이미지·상품·카테고리 연결이 바뀔 때마다 증가, ETag 로 사용)", example = "3")
+    private Long version;
+
 
 }
@@ -0,0 +1,50 @@
+package com.eiummarket.demo.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨트롤러 요청마다 SQL 측정 구간을 열고, 끝나면 엔드포인트(메서드 + URI 패턴)별 지표로 남긴다.
+ * - http.server.db.statements: 요청당 SQL 문 수
+ * - http.server.db.time: 요청당 DB 실행 시간 합
+ */
+@Component
+@RequiredArgsConstructor
+public class EndpointQueryInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(QueryStats.REQUEST_ATTRIBUTE, QueryStats.open());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryStats.close();
+        if (!(request.getAttribute(QueryStats.REQUEST_ATTRIBUTE) instanceof QueryStats stats)) return;
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("http.server.db.statements")
+                .description("SQL statements issued per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("http.server.db.time")
+                .description("Total SQL execution time per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.elapsedNanos(), TimeUnit.NANOSECONDS);
+    }
+}
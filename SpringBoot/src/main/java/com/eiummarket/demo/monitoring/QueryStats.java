@@ -0,0 +1,63 @@
+package com.eiummarket.demo.monitoring;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 한 요청(또는 측정 구간) 동안 실행된 SQL 문 수와 DB 실행 시간.
+ * 현재 스레드의 측정 구간은 {@link #current()}로 얻고, 다른 스레드로 넘기는 작업은 {@link #propagate}로 감싼다.
+ */
+public final class QueryStats {
+
+    /** 요청 처리 후 측정 결과를 담아 두는 request attribute 이름 (테스트 검증용) */
+    public static final String REQUEST_ATTRIBUTE = QueryStats.class.getName();
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder elapsedNanos = new LongAdder();
+
+    /** 현재 스레드에서 새 측정 구간을 시작 (이전 구간이 있으면 대체) */
+    public static QueryStats open() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /** 현재 스레드의 측정 구간 (없으면 null) */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /** 호출한 스레드의 측정 구간을 작업 실행 스레드에서도 이어서 쓰도록 감싼다 */
+    public static <V> Callable<V> propagate(Callable<V> task) {
+        QueryStats stats = current();
+        if (stats == null) return task;
+        return () -> {
+            QueryStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) CURRENT.remove(); else CURRENT.set(previous);
+            }
+        };
+    }
+
+    void record(long elapsedNanos) {
+        statements.increment();
+        this.elapsedNanos.add(elapsedNanos);
+    }
+
+    public long statements() {
+        return statements.sum();
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos.sum();
+    }
+}
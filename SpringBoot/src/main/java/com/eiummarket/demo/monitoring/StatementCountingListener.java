@@ -0,0 +1,30 @@
+package com.eiummarket.demo.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * 프록시 데이터소스에서 SQL 실행이 끝날 때마다 현재 측정 구간에 1건과 실행 시간을 더한다.
+ * 배치 실행도 DB 왕복 한 번이므로 1건으로 센다.
+ * ExecutionInfo.getElapsedTime() 은 밀리초라 짧은 쿼리가 0 이 되므로, 실행 전후 System.nanoTime() 차이를 쓴다.
+ */
+public class StatementCountingListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = StatementCountingListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (QueryStats.current() != null) execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStats stats = QueryStats.current();
+        if (stats == null) return;
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        stats.record(start == null ? 0L : System.nanoTime() - start);
+    }
+}
@@ -9,14 +9,23 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.eiummarket.demo.model.Category;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
     Optional<Category> findByCategoryId(Long categoryId);
 
+    /** 전체 카테고리 (2차 쿼리 캐시). category 테이블이 바뀌면 Hibernate 가 결과를 무효화한다 */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c FROM Category c ORDER BY c.categoryId")
+    List<Category> findAllCached();
+
     @Query("""
     select distinct s
       from Shop s
@@ -32,4 +41,25 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
             "WHERE s.market.marketId = :marketId " +
             "AND c.name LIKE %:keyword%")
     Page<Shop> findShopsByMarketIdAndCategoryNameLike(@Param("marketId") Long marketId, @Param("keyword") String keyword, Pageable pageable);
+
+    @Query("" +
+            "SELECT s.shopId, c.name " +
+            "FROM Shop s " +
+            "JOIN s.categories c " +
+            "WHERE s.market.marketId = :marketId")
+    List<Object[]> findShopCategoryNamesByMarketId(@Param("marketId") Long marketId);
+
+    @Query("" +
+            "SELECT c.name " +
+            "FROM Shop s " +
+            "JOIN s.categories c " +
+            "WHERE s.shopId = :shopId")
+    List<String> findCategoryNamesByShopId(@Param("shopId") Long shopId);
+
+    @Query("" +
+            "SELECT s.market.marketId, s.shopId " +
+            "FROM Shop s " +
+            "JOIN s.categories c " +
+            "WHERE c.categoryId = :categoryId")
+    List<Object[]> findShopKeysByCategoryId(@Param("categoryId") Long categoryId);
 }
\ No newline at end of file
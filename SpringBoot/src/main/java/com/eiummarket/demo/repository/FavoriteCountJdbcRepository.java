@@ -0,0 +1,47 @@
+package com.eiummarket.demo.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 모아 둔 찜 증감을 JDBC batch 로 반영한다.
+ * JPQL 벌크 UPDATE 는 실행될 때마다 Hibernate 가 Shop 관련 2차 캐시 영역을 모두 비우므로, 주기적으로 도는 반영은 SQL 로 직접 쓴다.
+ * favorite.shop_id 에는 유일 키가 없어 ON DUPLICATE KEY UPDATE 대신 UPDATE batch 뒤에 없는 행만 INSERT ... SELECT batch 로 넣는다.
+ * 그사이 삭제된 상점은 어느 문에도 걸리지 않으므로 증감이 그대로 버려진다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FavoriteCountJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 상점 ID → 증감. 찜 수는 0 아래로 내려가지 않는다 */
+    public void addFavoriteCounts(Map<Long, Long> deltas) {
+        List<Object[]> args = deltas.entrySet().stream()
+                .map(e -> new Object[]{e.getValue(), e.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate(
+                "UPDATE shop SET favorite_count = GREATEST(COALESCE(favorite_count, 0) + ?, 0) WHERE shop_id = ?", args);
+        jdbcTemplate.batchUpdate(
+                "UPDATE favorite SET favorite_count = GREATEST(favorite_count + ?, 0) WHERE shop_id = ?", args);
+
+        List<Object[]> inserts = deltas.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .map(e -> new Object[]{e.getValue(), e.getKey()})
+                .toList();
+        if (inserts.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO favorite (shop_id, favorite_count, created_at) " +
+                "SELECT s.shop_id, ?, CURRENT_TIMESTAMP FROM shop s WHERE s.shop_id = ? " +
+                "AND NOT EXISTS (SELECT 1 FROM favorite f WHERE f.shop_id = s.shop_id)", inserts);
+    }
+
+    /** favorite_count 가 NULL 인 이전 행을 0 으로. 바뀐 행 수 */
+    public int zeroNullFavoriteCounts() {
+        return jdbcTemplate.update("UPDATE shop SET favorite_count = 0 WHERE favorite_count IS NULL");
+    }
+}
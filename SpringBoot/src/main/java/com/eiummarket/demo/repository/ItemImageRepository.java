@@ -2,10 +2,17 @@ package com.eiummarket.demo.repository;
 
 import com.eiummarket.demo.model.ItemImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemImageRepository extends JpaRepository<ItemImage, Long> {
     List<ItemImage> findByItem_ItemId(Long itemId);
     void deleteByItem_ItemId(Long itemId);
-}
\ No newline at end of file
+
+    /** 페이지 단위 이미지 일괄 조회용 (itemId, url), 등록 순 */
+    @Query("SELECT i.item.itemId, i.url FROM ItemImage i WHERE i.item.itemId IN :ids ORDER BY i.itemImageId")
+    List<Object[]> findUrlsByItemIdIn(@Param("ids") Collection<Long> ids);
+}
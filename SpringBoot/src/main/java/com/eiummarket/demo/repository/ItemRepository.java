@@ -6,12 +6,14 @@ import io.lettuce.core.dynamic.annotation.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, VersionBumpRepository<Item> {
     Page<Item> findAllByShop_ShopId(Long shopId, Pageable pageable)
             ;
     boolean existsByItemIdAndShop_ShopId(Long itemId, Long shopId);
@@ -32,4 +34,40 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "AND (i.name LIKE %:keyword% " +
             "OR i.description LIKE %:keyword%)")
     Page<Shop> findShopsByMarketIdAndItemKeyword(@Param("marketId") Long marketId, @Param("keyword") String keyword, Pageable pageable);
+
+    @Query("" +
+            "SELECT i.shop.shopId, i.name, i.description " +
+            "FROM Item i " +
+            "WHERE i.shop.market.marketId = :marketId")
+    List<Object[]> findItemTextsByMarketId(@Param("marketId") Long marketId);
+
+    @Query("" +
+            "SELECT i.name, i.description " +
+            "FROM Item i " +
+            "WHERE i.shop.shopId = :shopId")
+    List<Object[]> findItemTextsByShopId(@Param("shopId") Long shopId);
+
+    /** 조건부 GET 용 버전. 상세 응답을 만들지 않고 PK 로 한 값만 읽는다 */
+    @Query("" +
+            "SELECT i.version " +
+            "FROM Item i " +
+            "WHERE i.itemId = :itemId AND i.shop.shopId = :shopId AND i.shop.market.marketId = :marketId")
+    Optional<Long> findVersionByItemId(@Param("marketId") Long marketId, @Param("shopId") Long shopId, @Param("itemId") Long itemId);
+
+    @Query("SELECT COALESCE(SUM(i.rating.count), 0) FROM Item i")
+    long sumRatingCounts();
+
+    /** 리뷰 테이블에서 모든 상품의 평점 집계를 다시 계산한다 */
+    @Modifying
+    @Query("UPDATE Item i SET " +
+            "i.rating.average = (SELECT COALESCE(AVG(r.rating), 0) FROM Review r WHERE r.item = i), " +
+            "i.rating.count = (SELECT COUNT(r) FROM Review r WHERE r.item = i), " +
+            "i.rating.sum = (SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.item = i), " +
+            "i.rating.star1 = (SELECT COUNT(r) FROM Review r WHERE r.item = i AND r.rating = 1), " +
+            "i.rating.star2 = (SELECT COUNT(r) FROM Review r WHERE r.item = i AND r.rating = 2), " +
+            "i.rating.star3 = (SELECT COUNT(r) FROM Review r WHERE r.item = i AND r.rating = 3), " +
+            "i.rating.star4 = (SELECT COUNT(r) FROM Review r WHERE r.item = i AND r.rating = 4), " +
+            "i.rating.star5 = (SELECT COUNT(r) FROM Review r WHERE r.item = i AND r.rating = 5), " +
+            "i.version = i.version + 1")
+    int recomputeRatings();
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.eiummarket.demo.repository;
+
+import com.eiummarket.demo.Utils.ListingCursor;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Sort;
+
+/**
+ * (정렬 키, ID) keyset 조건과 정렬절. 키와 ID 를 같은 방향으로 정렬해 (..., 키, ID) 인덱스를 한 방향으로 읽게 한다.
+ * key 는 SearchUtils 의 keyset 정렬 키로 검증한 경로만 넘긴다.
+ */
+final class KeysetQueries {
+    private KeysetQueries() {}
+
+    static String after(String key, String id, Sort.Order order) {
+        String op = order.isAscending() ? ">" : "<";
+        return "(" + key + " " + op + " :afterKey OR (" + key + " = :afterKey AND " + id + " " + op + " :afterId))";
+    }
+
+    static String orderBy(String key, String id, Sort.Order order) {
+        String dir = order.isAscending() ? "ASC" : "DESC";
+        return key + " " + dir + ", " + id + " " + dir;
+    }
+
+    static void bind(Query query, ListingCursor after) {
+        query.setParameter("afterKey", after.key());
+        query.setParameter("afterId", after.id());
+    }
+}
@@ -3,6 +3,8 @@ package com.eiummarket.demo.repository;
 import com.eiummarket.demo.model.Market;
 import com.eiummarket.demo.model.MarketImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
@@ -11,4 +13,8 @@ public interface MarketImageRepository extends JpaRepository<MarketImage, Long>
     List<MarketImage> findByMarket_MarketId(Long itemId);
     List<MarketImage> findByMarket(Market market);
     void deleteByMarket_MarketId(Long marketId);
-}
\ No newline at end of file
+
+    /** 페이지 단위 이미지 일괄 조회용 (marketId, url), 등록 순 */
+    @Query("SELECT i.market.marketId, i.url FROM MarketImage i WHERE i.market.marketId IN :ids ORDER BY i.marketImageId")
+    List<Object[]> findUrlsByMarketIdIn(@Param("ids") Collection<Long> ids);
+}
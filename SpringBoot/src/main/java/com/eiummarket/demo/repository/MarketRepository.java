@@ -1,18 +1,41 @@
 package com.eiummarket.demo.repository;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.eiummarket.demo.model.Market;
 
-public interface MarketRepository extends JpaRepository<Market, Long> {
+public interface MarketRepository extends JpaRepository<Market, Long>, MarketRepositoryCustom, VersionBumpRepository<Market> {
     boolean existsByName(String name);
     Page<Market> findMarketByNameContaining(String keyword, Pageable pageable);
     Page<Market> findMarketByDescriptionContaining(String keyword, Pageable pageable);
 
+    /** 설명 FULLTEXT(ngram) 검색. phrase 는 SearchUtils.toFulltextPhrase 로 만든 boolean mode 구문 */
+    @Query("SELECT m FROM Market m WHERE match_against(m.description, :phrase) > 0")
+    Page<Market> findMarketByDescriptionMatch(@Param("phrase") String phrase, Pageable pageable);
+
     Page<Market> findAll(Pageable pageable);
 
+    /** COUNT 없는 오프셋 목록 (전체 개수는 ListingCounts 에 캐시한 값을 쓴다) */
+    List<Market> findAllBy(Pageable pageable);
+
+    /** 시장명 보조 색인/BM25 통계 빌드용 (marketId, name, description) */
+    @Query("SELECT m.marketId, m.name, m.description FROM Market m")
+    List<Object[]> findAllMarketTexts();
+
+    /** 좌표 색인 빌드용 (marketId, latitude, longitude) */
+    @Query("SELECT m.marketId, m.latitude, m.longitude FROM Market m WHERE m.latitude IS NOT NULL AND m.longitude IS NOT NULL")
+    List<Object[]> findAllMarketCoordinates();
+
     Optional<Market> findByNameOrAddress(String name, String address);
+
+    /** 조건부 GET 용 버전. 상세 응답을 만들지 않고 PK 로 한 값만 읽는다 */
+    @Query("SELECT m.version FROM Market m WHERE m.marketId = :marketId")
+    Optional<Long> findVersionByMarketId(@Param("marketId") Long marketId);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.eiummarket.demo.repository;
+
+import com.eiummarket.demo.Utils.ListingCursor;
+import com.eiummarket.demo.model.Market;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface MarketRepositoryCustom {
+
+    /** 시장을 order 순으로 after 다음부터 limit 개 읽는다. after 가 null 이면 처음부터. COUNT 는 하지 않는다 */
+    List<Market> findAfter(Sort.Order order, ListingCursor after, int limit);
+}
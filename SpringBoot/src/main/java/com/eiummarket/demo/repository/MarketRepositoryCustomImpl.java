@@ -0,0 +1,28 @@
+package com.eiummarket.demo.repository;
+
+import com.eiummarket.demo.Utils.ListingCursor;
+import com.eiummarket.demo.model.Market;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class MarketRepositoryCustomImpl implements MarketRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Market> findAfter(Sort.Order order, ListingCursor after, int limit) {
+        String key = "m." + order.getProperty();
+        StringBuilder jpql = new StringBuilder("SELECT m FROM Market m");
+        if (after != null) jpql.append(" WHERE ").append(KeysetQueries.after(key, "m.marketId", order));
+        jpql.append(" ORDER BY ").append(KeysetQueries.orderBy(key, "m.marketId", order));
+
+        TypedQuery<Market> query = entityManager.createQuery(jpql.toString(), Market.class).setMaxResults(limit);
+        if (after != null) KeysetQueries.bind(query, after);
+        return query.getResultList();
+    }
+}
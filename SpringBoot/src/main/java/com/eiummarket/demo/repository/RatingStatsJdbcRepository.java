@@ -0,0 +1,42 @@
+package com.eiummarket.demo.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 리뷰 하나의 별점을 상점/상품 평점 집계(RatingStats 컬럼)에 더하거나(delta=1) 뺀다(delta=-1).
+ * JPQL 벌크 UPDATE 는 Hibernate 가 관련 2차 캐시 영역을 모두 비우고 SET 순서도 보장하지 않으므로 SQL 로 직접 쓴다.
+ * 버전은 올리지 않는다 (호출하는 쪽에서 bumpVersion).
+ */
+@Repository
+@RequiredArgsConstructor
+public class RatingStatsJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int addShopRating(Long shopId, int star, int delta) {
+        return addRating("shop", "shop_id", shopId, star, delta);
+    }
+
+    public int addItemRating(Long itemId, int star, int delta) {
+        return addRating("item", "item_id", itemId, star, delta);
+    }
+
+    /**
+     * MySQL 은 SET 을 왼쪽부터 적용하고 뒤의 식에서 바뀐 값을 읽으므로 평균을 맨 앞에 두고 바뀌기 전 개수·합에 delta 를 더해 계산한다.
+     * 평균식이 이전 값만 읽으므로 모든 식이 이전 값을 읽는 표준 SQL 에서도 결과가 같다.
+     */
+    private int addRating(String table, String idColumn, Long id, int star, int delta) {
+        if (star < 1 || star > 5) throw new IllegalArgumentException("별점은 1~5 사이여야 합니다: " + star);
+        long sumDelta = (long) star * delta;
+        String starColumn = "rating_" + star;
+        return jdbcTemplate.update("UPDATE " + table + " SET " +
+                        "rating_avg = CASE WHEN rating_count + ? > 0 THEN (rating_sum + ?) * 1.0 / (rating_count + ?) ELSE 0 END, " +
+                        "rating_count = rating_count + ?, " +
+                        "rating_sum = rating_sum + ?, " +
+                        starColumn + " = " + starColumn + " + ? " +
+                        "WHERE " + idColumn + " = ?",
+                delta, sumDelta, delta, delta, sumDelta, delta, id);
+    }
+}
@@ -3,9 +3,16 @@ package com.eiummarket.demo.repository;
 
 import com.eiummarket.demo.model.ReviewImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ReviewImageRepository extends JpaRepository<ReviewImage, Long> {
     List<ReviewImage> findByReview_ReviewId(Long reviewId);
+
+    /** 페이지 단위 이미지 일괄 조회용 (reviewId, url), 등록 순 */
+    @Query("SELECT i.review.reviewId, i.url FROM ReviewImage i WHERE i.review.reviewId IN :ids ORDER BY i.reviewImageId")
+    List<Object[]> findUrlsByReviewIdIn(@Param("ids") Collection<Long> ids);
 }
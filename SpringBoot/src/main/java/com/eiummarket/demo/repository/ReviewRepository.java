@@ -2,11 +2,39 @@
 package com.eiummarket.demo.repository;
 
 import com.eiummarket.demo.model.Review;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     Page<Review> findByShop_ShopId(Long shopId, Pageable pageable);
     Page<Review> findByItem_ItemId(Long itemId, Pageable pageable);
+    long countByShopIsNotNull();
+    long countByItemIsNotNull();
+
+    /** 커서 목록 첫 페이지 (최신순). COUNT 를 하지 않는다 */
+    @Query("SELECT r FROM Review r WHERE r.shop.shopId = :shopId ORDER BY r.createdAt DESC, r.reviewId DESC")
+    List<Review> findLatestByShop(@Param("shopId") Long shopId, Limit limit);
+
+    /** 커서 (createdAt, reviewId) 다음부터. 인덱스에서 커서 위치로 바로 찾아가므로 몇 번째 페이지든 비용이 같다 */
+    @Query("SELECT r FROM Review r WHERE r.shop.shopId = :shopId " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.reviewId < :reviewId)) " +
+            "ORDER BY r.createdAt DESC, r.reviewId DESC")
+    List<Review> findLatestByShopAfter(@Param("shopId") Long shopId, @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("reviewId") Long reviewId, Limit limit);
+
+    @Query("SELECT r FROM Review r WHERE r.item.itemId = :itemId ORDER BY r.createdAt DESC, r.reviewId DESC")
+    List<Review> findLatestByItem(@Param("itemId") Long itemId, Limit limit);
+
+    @Query("SELECT r FROM Review r WHERE r.item.itemId = :itemId " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.reviewId < :reviewId)) " +
+            "ORDER BY r.createdAt DESC, r.reviewId DESC")
+    List<Review> findLatestByItemAfter(@Param("itemId") Long itemId, @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("reviewId") Long reviewId, Limit limit);
 }
@@ -3,10 +3,17 @@ package com.eiummarket.demo.repository;
 import com.eiummarket.demo.model.Shop;
 import com.eiummarket.demo.model.ShopImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ShopImageRepository extends JpaRepository<ShopImage, Long> {
     List<ShopImage> findByShop_ShopId(Long shopId);
     void deleteByShop_ShopId(Shop shopId);
-}
\ No newline at end of file
+
+    /** 페이지 단위 이미지 일괄 조회용 (shopId, url), 등록 순 */
+    @Query("SELECT i.shop.shopId, i.url FROM ShopImage i WHERE i.shop.shopId IN :ids ORDER BY i.shopImageId")
+    List<Object[]> findUrlsByShopIdIn(@Param("ids") Collection<Long> ids);
+}
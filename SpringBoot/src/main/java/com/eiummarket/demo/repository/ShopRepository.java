@@ -12,9 +12,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ShopRepository extends JpaRepository<Shop, Long> {
+public interface ShopRepository extends JpaRepository<Shop, Long>, ShopRepositoryCustom, VersionBumpRepository<Shop> {
 
     boolean existsByShopIdAndMarket_MarketId(Long shopId, Long marketId);
 
@@ -22,6 +23,8 @@ public interface ShopRepository extends JpaRepository<Shop, Long> {
 
     Page<Shop> findAllByMarket_MarketId(Long marketId, Pageable pageable);
 
+    List<Shop> findAllByMarket_MarketId(Long marketId);
+
     Page<Shop> findAllByMarket_MarketIdAndCategoriesContaining(Long marketId, Category category, Pageable pageable);
 
 
@@ -31,13 +34,88 @@ public interface ShopRepository extends JpaRepository<Shop, Long> {
     Page<Shop> findByMarket_MarketIdAndNameContaining(Long marketId, String keyword, Pageable pageable);
     Page<Shop> findByMarket_MarketIdAndDescriptionContaining(Long marketId, String keyword, Pageable pageable);
 
-    @Modifying
-    @Query("update Shop s set s.favoriteCount = s.favoriteCount + 1 where s.shopId = :shopId")
-    void incrementFavoriteCount(@Param("shopId") Long shopId);
+    /**
+     * 상점명/설명/카테고리명/상품명·설명 중 하나라도 키워드를 포함하는 시장 내 상점.
+     * 중복 제거, 정렬, LIMIT/OFFSET, COUNT 모두 DB에서 처리한다.
+     */
+    @Query("" +
+            "SELECT s FROM Shop s " +
+            "WHERE s.market.marketId = :marketId " +
+            "AND (s.name LIKE CONCAT('%', :keyword, '%') " +
+            "OR s.description LIKE CONCAT('%', :keyword, '%') " +
+            "OR EXISTS (SELECT 1 FROM Shop cs JOIN cs.categories c " +
+            "WHERE cs.shopId = s.shopId AND c.name LIKE CONCAT('%', :keyword, '%')) " +
+            "OR EXISTS (SELECT 1 FROM Item i " +
+            "WHERE i.shop.shopId = s.shopId " +
+            "AND (i.name LIKE CONCAT('%', :keyword, '%') OR i.description LIKE CONCAT('%', :keyword, '%'))))")
+    Page<Shop> searchInMarket(@Param("marketId") Long marketId, @Param("keyword") String keyword, Pageable pageable);
+
+    /** 후보 ID 중 pageable 의 정렬·페이지에 해당하는 ID 만 (COUNT 없음). FULLTEXT 검색 결과를 페이지로 자를 때 쓴다 */
+    @Query("SELECT s.shopId FROM Shop s WHERE s.shopId IN :shopIds")
+    List<Long> findShopIdPage(@Param("shopIds") Collection<Long> shopIds, Pageable pageable);
+
+    /**
+     * 목록 카드 컬럼 (shopId, marketId, name, floor, favoriteCount, 대표 이미지 URL, 평균 평점, 리뷰 수, createdAt).
+     * createdAt 은 카드에 나오지 않고 커서 목록의 정렬 키로만 쓴다.
+     * 대표 이미지는 가장 먼저 등록된 이미지
+     */
+    String CARD_COLUMNS = "s.shopId, s.market.marketId, s.name, s.floor, s.favoriteCount, " +
+            "(SELECT si.url FROM ShopImage si WHERE si.shopImageId = " +
+            "(SELECT MIN(si2.shopImageId) FROM ShopImage si2 WHERE si2.shop = s)), " +
+            "s.rating.average, s.rating.count, s.createdAt";
+
+    @Query("SELECT " + CARD_COLUMNS + " FROM Shop s WHERE s.shopId IN :shopIds")
+    List<Object[]> findCardRowsByShopIdIn(@Param("shopIds") Collection<Long> shopIds);
+
+    /** 오프셋 목록 카드. 전체 개수는 ListingCounts 에 캐시한 countBy... 값을 쓰므로 여기서는 세지 않는다 */
+    @Query("SELECT " + CARD_COLUMNS + " FROM Shop s WHERE s.market.marketId = :marketId")
+    List<Object[]> findCardRowsByMarketId(@Param("marketId") Long marketId, Pageable pageable);
+
+    @Query("SELECT " + CARD_COLUMNS + " FROM Shop s WHERE s.market.marketId = :marketId AND :category MEMBER OF s.categories")
+    List<Object[]> findCardRowsByMarketIdAndCategory(@Param("marketId") Long marketId, @Param("category") Category category, Pageable pageable);
+
+    long countByMarket_MarketId(Long marketId);
+
+    long countByMarket_MarketIdAndCategoriesContaining(Long marketId, Category category);
+
+    /** 목록 카드용 (shopId, categoryId) */
+    @Query("SELECT s.shopId, c.categoryId FROM Shop s JOIN s.categories c WHERE s.shopId IN :shopIds")
+    List<Object[]> findCategoryIdsByShopIdIn(@Param("shopIds") Collection<Long> shopIds);
+
+    /** 지도 묶음 계산용 (shopId, marketId, latitude, longitude) */
+    @Query("SELECT s.shopId, s.market.marketId, s.latitude, s.longitude FROM Shop s " +
+            "WHERE s.latitude IS NOT NULL AND s.longitude IS NOT NULL")
+    List<Object[]> findAllShopCoordinates();
+
+    /** 조건부 GET 용 (version, favoriteCount). 상세 응답을 만들지 않고 PK 로 한 행만 읽는다 */
+    @Query("SELECT s.version, s.favoriteCount FROM Shop s WHERE s.shopId = :shopId AND s.market.marketId = :marketId")
+    List<Object[]> findVersionRow(@Param("marketId") Long marketId, @Param("shopId") Long shopId);
+
+    /**
+     * 여러 상점의 버전을 한 번에 올린다 (카테고리 삭제처럼 상점을 읽지 않고 많이 건드릴 때만).
+     * 벌크 UPDATE 는 Shop 이 관련된 2차 캐시 영역을 모두 비우므로, 상점 하나를 고칠 때는 {@link #bumpVersion} 을 쓴다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Shop s SET s.version = s.version + 1 WHERE s.shopId IN :shopIds")
+    void incrementVersions(@Param("shopIds") Collection<Long> shopIds);
+
+    /** 저장된 평점 집계의 리뷰 수 합 (기존 리뷰 반영 여부 확인용) */
+    @Query("SELECT COALESCE(SUM(s.rating.count), 0) FROM Shop s")
+    long sumRatingCounts();
 
+    /** 리뷰 테이블에서 모든 상점의 평점 집계를 다시 계산한다 (집계 컬럼 도입 전 리뷰 반영용) */
     @Modifying
-    @Query("update Shop s set s.favoriteCount = s.favoriteCount - 1 where s.shopId = :shopId and s.favoriteCount > 0")
-    void decrementFavoriteCount(@Param("shopId") Long shopId);
+    @Query("UPDATE Shop s SET " +
+            "s.rating.average = (SELECT COALESCE(AVG(r.rating), 0) FROM Review r WHERE r.shop = s), " +
+            "s.rating.count = (SELECT COUNT(r) FROM Review r WHERE r.shop = s), " +
+            "s.rating.sum = (SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.shop = s), " +
+            "s.rating.star1 = (SELECT COUNT(r) FROM Review r WHERE r.shop = s AND r.rating = 1), " +
+            "s.rating.star2 = (SELECT COUNT(r) FROM Review r WHERE r.shop = s AND r.rating = 2), " +
+            "s.rating.star3 = (SELECT COUNT(r) FROM Review r WHERE r.shop = s AND r.rating = 3), " +
+            "s.rating.star4 = (SELECT COUNT(r) FROM Review r WHERE r.shop = s AND r.rating = 4), " +
+            "s.rating.star5 = (SELECT COUNT(r) FROM Review r WHERE r.shop = s AND r.rating = 5), " +
+            "s.version = s.version + 1")
+    int recomputeRatings();
 
     // 필요 시 중복 이름 방지 등 추가 가능
     boolean existsByMarket_MarketIdAndName(Long marketId, String name);
@@ -0,0 +1,24 @@
+package com.eiummarket.demo.repository;
+
+import com.eiummarket.demo.Utils.ListingCursor;
+import com.eiummarket.demo.model.Category;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface ShopRepositoryCustom {
+
+    /**
+     * 시장 내 상점 카드 컬럼(CARD_COLUMNS)을 order 순으로 after 다음부터 limit 개 읽는다.
+     * after 가 null 이면 처음부터, category 가 null 이면 전체. COUNT 는 하지 않는다.
+     */
+    List<Object[]> findCardRowsAfter(Long marketId, Category category, Sort.Order order, ListingCursor after, int limit);
+
+    /**
+     * searchInMarket 과 같은 조건으로 찾은 시장 내 상점 ID (중복 없음, 순서 없음).
+     * TEXT 설명 컬럼은 MATCH ... AGAINST 만 있는 갈래로, 이름·카테고리명·상품명은 LIKE 갈래로 나눠 UNION 한다.
+     * 한 WHERE 안에서 LIKE 와 OR 로 묶으면 FULLTEXT 인덱스를 쓰지 못하기 때문.
+     * phrase 는 SearchUtils.toFulltextPhrase 로 만든 boolean mode 구문.
+     */
+    List<Long> findShopIdsByFulltext(Long marketId, String keyword, String phrase);
+}
@@ -0,0 +1,60 @@
+package com.eiummarket.demo.repository;
+
+import com.eiummarket.demo.Utils.ListingCursor;
+import com.eiummarket.demo.model.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class ShopRepositoryCustomImpl implements ShopRepositoryCustom {
+
+    private static final String FULLTEXT_SHOP_IDS = "" +
+            "SELECT s.shop_id FROM shop s " +
+            "WHERE s.market_id = :marketId AND MATCH(s.description) AGAINST (:phrase IN BOOLEAN MODE) " +
+            "UNION " +
+            "SELECT i.shop_id FROM item i JOIN shop s ON s.shop_id = i.shop_id " +
+            "WHERE s.market_id = :marketId AND MATCH(i.description) AGAINST (:phrase IN BOOLEAN MODE) " +
+            "UNION " +
+            "SELECT s.shop_id FROM shop s " +
+            "WHERE s.market_id = :marketId AND s.name LIKE CONCAT('%', :keyword, '%') " +
+            "UNION " +
+            "SELECT sc.shop_id FROM shop_categories sc " +
+            "JOIN shop s ON s.shop_id = sc.shop_id JOIN category c ON c.category_id = sc.category_id " +
+            "WHERE s.market_id = :marketId AND c.name LIKE CONCAT('%', :keyword, '%') " +
+            "UNION " +
+            "SELECT i.shop_id FROM item i JOIN shop s ON s.shop_id = i.shop_id " +
+            "WHERE s.market_id = :marketId AND i.name LIKE CONCAT('%', :keyword, '%')";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Object[]> findCardRowsAfter(Long marketId, Category category, Sort.Order order, ListingCursor after, int limit) {
+        String key = "s." + order.getProperty();
+        StringBuilder jpql = new StringBuilder("SELECT ").append(ShopRepository.CARD_COLUMNS)
+                .append(" FROM Shop s WHERE s.market.marketId = :marketId");
+        if (category != null) jpql.append(" AND :category MEMBER OF s.categories");
+        if (after != null) jpql.append(" AND ").append(KeysetQueries.after(key, "s.shopId", order));
+        jpql.append(" ORDER BY ").append(KeysetQueries.orderBy(key, "s.shopId", order));
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setParameter("marketId", marketId)
+                .setMaxResults(limit);
+        if (category != null) query.setParameter("category", category);
+        if (after != null) KeysetQueries.bind(query, after);
+        return query.getResultList();
+    }
+
+    @Override
+    public List<Long> findShopIdsByFulltext(Long marketId, String keyword, String phrase) {
+        List<?> rows = entityManager.createNativeQuery(FULLTEXT_SHOP_IDS)
+                .setParameter("marketId", marketId)
+                .setParameter("keyword", keyword)
+                .setParameter("phrase", phrase)
+                .getResultList();
+        return rows.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+}
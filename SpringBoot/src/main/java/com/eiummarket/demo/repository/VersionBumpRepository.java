@@ -0,0 +1,12 @@
+package com.eiummarket.demo.repository;
+
+/**
+ * 하위 데이터(상품·이미지·카테고리 연결 등)만 바뀌어 엔티티가 dirty 가 아닐 때도 @Version 을 올려 상세 ETag 를 바꾼다.
+ * 읽어 둔 버전과 비교하지 않는 UPDATE 라 다른 트랜잭션이 먼저 올렸어도 실패하지 않는다.
+ * 벌크 JPQL 과 달리 영속성 컨텍스트의 버전도 함께 갱신되고, 2차 캐시 영역을 통째로 비우지 않는다.
+ */
+public interface VersionBumpRepository<T> {
+
+    /** entity 는 현재 트랜잭션에서 읽은(관리 중인) 엔티티여야 한다 */
+    void bumpVersion(T entity);
+}
@@ -0,0 +1,61 @@
+package com.eiummarket.demo.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RequiredArgsConstructor
+class VersionBumpRepositoryImpl<T> implements VersionBumpRepository<T> {
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 읽어 둔 버전과 비교하지 않고 version = version + 1 로 올린다. 행 잠금은 커밋까지 유지되므로
+     * 같은 상점에 동시에 들어온 변경은 실패하지 않고 차례로 반영된다.
+     * 올린 버전은 영속성 컨텍스트의 스냅샷에도 넣어, 이후 flush 되는 변경이 낡은 버전으로 검사되지 않게 한다.
+     */
+    @Override
+    public void bumpVersion(T entity) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        // item.getShop() 같은 지연 로딩 프록시는 실제 엔티티로 풀어야 스냅샷을 찾을 수 있다
+        Object target = Hibernate.unproxy(entity);
+        EntityEntry entry = session.getPersistenceContextInternal().getEntry(target);
+        if (entry == null) throw new IllegalArgumentException("영속성 컨텍스트가 관리하는 엔티티가 아닙니다: " + entity);
+        AbstractEntityPersister persister = (AbstractEntityPersister) entry.getPersister();
+        String table = persister.getVersionedTableName();
+        String version = persister.getVersionColumnName();
+        String id = persister.getIdentifierColumnNames()[0];
+
+        jdbcTemplate.update("UPDATE " + table + " SET " + version + " = " + version + " + 1 WHERE " + id + " = ?", entry.getId());
+        Long next = jdbcTemplate.queryForObject("SELECT " + version + " FROM " + table + " WHERE " + id + " = ?", Long.class, entry.getId());
+
+        // 스냅샷은 버전만 바꾼다 (다른 필드의 미반영 변경은 그대로 dirty 로 남는다)
+        Object[] loaded = entry.getLoadedState().clone();
+        loaded[persister.getVersionProperty()] = next;
+        entry.postUpdate(target, loaded, next);
+
+        if (persister.canWriteToCache()) evictAfterCommit(session, persister.getEntityName(), entry.getId());
+    }
+
+    /** Hibernate 를 거치지 않은 UPDATE 이므로 2차 캐시의 엔티티는 커밋 뒤에 직접 비운다 */
+    private static void evictAfterCommit(SessionImplementor session, String entityName, Object id) {
+        var cache = session.getFactory().getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.evictEntityData(entityName, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.evictEntityData(entityName, id);
+            }
+        });
+    }
+}
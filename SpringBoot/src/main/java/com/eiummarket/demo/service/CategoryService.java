@@ -1,14 +1,18 @@
 package com.eiummarket.demo.service;
 
 import com.eiummarket.demo.dto.CategoryDto;
+import com.eiummarket.demo.event.CategoryChangedEvent;
+import com.eiummarket.demo.event.ChangeType;
 import com.eiummarket.demo.model.Category;
 import com.eiummarket.demo.repository.CategoryRepository;
+import com.eiummarket.demo.repository.ShopRepository;
+import com.eiummarket.demo.service.cache.SingleFlight;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -16,15 +20,19 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ShopRepository shopRepository;
+    private final SingleFlight singleFlight;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * 모든 카테고리 조회
+     * 모든 카테고리 조회.
+     * 쿼리 캐시가 비워진 직후 동시에 들어온 요청은 조회 하나의 결과를 함께 쓴다 (목록은 공유되므로 고치지 않는다).
      * @return 카테고리 응답 DTO 목록
      */
     public List<CategoryDto.Response> getAllCategories() {
-        return categoryRepository.findAll().stream()
+        return singleFlight.execute("categories", "all", () -> categoryRepository.findAllCached().stream()
                 .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+                .toList());
     }
 
     /**
@@ -42,6 +50,7 @@ public class CategoryService {
                 .icon(request.getIcon())
                 .build();
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getCategoryId(), ChangeType.CREATED, Map.of()));
         return convertToResponseDto(savedCategory);
     }
 
@@ -53,7 +62,16 @@ public class CategoryService {
     public void deleteCategory(Long categoryId) {
         Category category = categoryRepository.findByCategoryId(categoryId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 카테고리 ID입니다: " + categoryId));
+        // 삭제 전에 연결된 상점을 모아둬야 커밋 후 해당 상점만 재색인할 수 있다
+        Map<Long, Set<Long>> affectedShops = new HashMap<>();
+        for (Object[] row : categoryRepository.findShopKeysByCategoryId(categoryId)) {
+            affectedShops.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+        // 상점 상세에 카테고리가 포함되므로 연결됐던 상점의 ETag 를 바꾼다
+        List<Long> shopIds = affectedShops.values().stream().flatMap(Set::stream).toList();
+        if (!shopIds.isEmpty()) shopRepository.incrementVersions(shopIds);
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId, ChangeType.DELETED, affectedShops));
     }
 
     /**
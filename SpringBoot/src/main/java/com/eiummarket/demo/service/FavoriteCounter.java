@@ -0,0 +1,102 @@
+package com.eiummarket.demo.service;
+
+import com.eiummarket.demo.event.ChangeType;
+import com.eiummarket.demo.event.ShopChangedEvent;
+import com.eiummarket.demo.repository.FavoriteCountJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상점 찜 수의 write-behind 집계.
+ * 찜/취소는 상점별 LongAdder 에만 더하고, favorite.flush-interval-ms 마다 쌓인 증감을 한 트랜잭션에서
+ * JDBC batch 로 shop.favorite_count 와 favorite 에 반영한다 ({@link FavoriteCountJdbcRepository}). 탭마다 같은 행을 잠그지 않는다.
+ * 읽는 쪽은 DB 값에 이 인스턴스의 미반영분을 더한 {@link #current} 를 쓴다 (다른 인스턴스의 미반영분은 다음 flush 후 보인다).
+ * 비정상 종료 시 잃을 수 있는 것은 마지막 flush 이후의 증감이고, 정상 종료 시에는 남은 것을 반영한다.
+ */
+@Slf4j
+@Component
+public class FavoriteCounter {
+
+    /** 상점 ID → 미반영 증감. 항목은 상점이 삭제될 때만 지우므로 상점 수만큼만 쌓인다 */
+    private final ConcurrentMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    /** 지금 flush 가 쓰고 있어 pending 에서는 빠졌지만 아직 커밋되지 않은 증감 */
+    private final ConcurrentMap<Long, Long> inFlight = new ConcurrentHashMap<>();
+    private final FavoriteCountJdbcRepository favoriteCountJdbcRepository;
+    private final TransactionTemplate tx;
+
+    public FavoriteCounter(FavoriteCountJdbcRepository favoriteCountJdbcRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.favoriteCountJdbcRepository = favoriteCountJdbcRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    public void add(Long shopId, long delta) {
+        pending.computeIfAbsent(shopId, id -> new LongAdder()).add(delta);
+    }
+
+    /** DB 에 저장된 찜 수에 미반영분(쓰는 중인 것 포함)을 더한 값 */
+    public long current(Long shopId, Long persisted) {
+        LongAdder adder = pending.get(shopId);
+        long count = (persisted == null ? 0L : persisted) + (adder == null ? 0L : adder.sum())
+                + inFlight.getOrDefault(shopId, 0L);
+        return Math.max(0L, count);
+    }
+
+    @Scheduled(fixedDelayString = "${favorite.flush-interval-ms:1000}",
+            initialDelayString = "${favorite.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pending.forEach((shopId, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) deltas.put(shopId, delta);
+        });
+        if (deltas.isEmpty()) return;
+
+        // 쓰기 전에 pending 에서 in-flight 로 옮긴다. 그사이 들어온 증감은 pending 에 남아 다음 flush 로 간다
+        inFlight.putAll(deltas);
+        deltas.forEach((shopId, delta) -> {
+            LongAdder adder = pending.get(shopId);
+            if (adder != null) adder.add(-delta);
+        });
+        try {
+            tx.executeWithoutResult(status -> {
+                favoriteCountJdbcRepository.addFavoriteCounts(deltas);
+                // 커밋되면 DB 값에 이미 들어 있으므로 커밋 시점부터는 더하지 않는다
+                inFlight.clear();
+            });
+        } catch (RuntimeException e) {
+            log.warn("찜 수 반영 실패, 다음 주기에 다시 시도합니다 (상점 {}개)", deltas.size(), e);
+            inFlight.clear();
+            // 그사이 삭제된 상점은 pending 에서 빠져 있으므로 되살리지 않는다
+            deltas.forEach((shopId, delta) -> {
+                LongAdder adder = pending.get(shopId);
+                if (adder != null) adder.add(delta);
+            });
+        }
+    }
+
+    /** 삭제된 상점의 미반영 증감은 버린다 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShopChanged(ShopChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            pending.remove(event.getShopId());
+            inFlight.remove(event.getShopId());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
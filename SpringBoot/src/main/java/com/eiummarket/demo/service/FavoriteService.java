@@ -1,19 +1,20 @@
 package com.eiummarket.demo.service;
 
-import com.eiummarket.demo.dto.CategoryDto;
 import com.eiummarket.demo.dto.ShopDto;
+import com.eiummarket.demo.event.FavoriteChangedEvent;
 import com.eiummarket.demo.model.Favorite;
-import com.eiummarket.demo.model.Shop;
 import com.eiummarket.demo.repository.FavoriteRepository;
 import com.eiummarket.demo.repository.ShopRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -22,59 +23,34 @@ public class FavoriteService {
 
     private final FavoriteRepository favoriteRepository;
     private final ShopRepository shopRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShopCardLoader shopCardLoader;
+    private final FavoriteCounter favoriteCounter;
 
-    @Transactional
+    /** 찜 수는 {@link FavoriteCounter} 에 모았다가 주기적으로 DB 에 반영한다 */
     public void likeShop(Long marketId, Long shopId) {
-        Shop shop = shopRepository.findByShopIdAndMarket_MarketId(shopId, marketId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 시장에서 상점을 찾을 수 없습니다. MarketID=" + marketId + ", ShopID=" + shopId));
-
-        Favorite favorite = favoriteRepository.findByShop_ShopIdAndShop_Market_MarketId(shopId, marketId)
-                .orElse(Favorite.builder()
-                        .shop(shop)
-                        .favoriteCount(0L)
-                        .build());
-
-        favorite.setFavoriteCount(favorite.getFavoriteCount() + 1);
-        favoriteRepository.save(favorite);
-        shopRepository.incrementFavoriteCount(shopId);
+        if (shopRepository.findVersionRow(marketId, shopId).isEmpty()) {
+            throw new EntityNotFoundException("해당 시장에서 상점을 찾을 수 없습니다. MarketID=" + marketId + ", ShopID=" + shopId);
+        }
+        favoriteCounter.add(shopId, 1);
+        eventPublisher.publishEvent(new FavoriteChangedEvent(marketId, shopId, 1));
     }
 
-    @Transactional
     public void unlikeShop(Long marketId, Long shopId) {
-        Favorite favorite = favoriteRepository.findByShop_ShopIdAndShop_Market_MarketId(shopId, marketId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 시장에서 찜 정보를 찾을 수 없습니다. MarketID=" + marketId + ", ShopID=" + shopId));
-
-        if (favorite.getFavoriteCount() > 0) {
-            favorite.setFavoriteCount(favorite.getFavoriteCount() - 1);
-            favoriteRepository.save(favorite);
-            shopRepository.decrementFavoriteCount(shopId);
+        List<Object[]> rows = shopRepository.findVersionRow(marketId, shopId);
+        if (rows.isEmpty()) {
+            throw new EntityNotFoundException("해당 시장에서 찜 정보를 찾을 수 없습니다. MarketID=" + marketId + ", ShopID=" + shopId);
+        }
+        if (favoriteCounter.current(shopId, (Long) rows.get(0)[1]) > 0) {
+            favoriteCounter.add(shopId, -1);
+            eventPublisher.publishEvent(new FavoriteChangedEvent(marketId, shopId, -1));
         }
     }
 
-    public Page<ShopDto.Response> listFavorites(Long marketId, Pageable pageable) {
+    public Page<ShopDto.Card> listFavorites(Long marketId, Pageable pageable) {
         Page<Favorite> favoritePage = favoriteRepository.findByShop_Market_MarketId(marketId, pageable);
-        return favoritePage.map(favorite -> toResponse(favorite.getShop()));
-    }
-
-    private ShopDto.Response toResponse(Shop shop) {
-        return ShopDto.Response.builder()
-                .shopId(shop.getShopId())
-                .marketId(shop.getMarket().getMarketId())
-                .name(shop.getName())
-                .phoneNumber(shop.getPhoneNumber())
-                .openingHours(shop.getOpeningHours())
-                .floor(shop.getFloor())
-                .latitude(shop.getLatitude())
-                .longitude(shop.getLongitude())
-                .description(shop.getDescription())
-                .favoriteCount(shop.getFavoriteCount())
-                .createdAt(shop.getCreatedAt())
-                .categories(shop.getCategories().stream()
-                        .map(cat -> CategoryDto.Response.builder()
-                                .categoryId(cat.getCategoryId())
-                                .name(cat.getName())
-                                .build())
-                        .collect(Collectors.toList()))
-                .build();
+        // 연관 프록시의 ID만 꺼내므로 상점 엔티티는 초기화되지 않는다
+        List<Long> shopIds = favoritePage.getContent().stream().map(favorite -> favorite.getShop().getShopId()).toList();
+        return new PageImpl<>(shopCardLoader.load(shopIds), favoritePage.getPageable(), favoritePage.getTotalElements());
     }
-}
\ No newline at end of file
+}
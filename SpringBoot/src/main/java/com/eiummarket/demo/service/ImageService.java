@@ -3,8 +3,10 @@ package com.eiummarket.demo.service;
 import com.eiummarket.demo.dto.ImageDto;
 import com.eiummarket.demo.model.*;
 import com.eiummarket.demo.repository.*;
+import com.eiummarket.demo.service.cache.DetailCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
@@ -24,9 +26,11 @@ public class ImageService {
     private final ShopImageRepository shopImageRepository;
     private final ItemImageRepository itemImageRepository;
     private final ReviewImageRepository reviewImageRepository;
+    private final DetailCache detailCache;
 
     private final String uploadDir = "static/";
 
+    @Transactional
     public ImageDto.Response uploadImage(Long marketId, Long shopId, Long itemId, Long reviewId, MultipartFile file, ImageDto.UploadRequest request) throws IOException {
         String imageUrl;
 
@@ -51,14 +55,19 @@ public class ImageService {
         } else if (itemId != null) {
             Item item = itemRepository.findById(itemId).orElseThrow();
             ItemImage image = itemImageRepository.save(ItemImage.builder().item(item).url(imageUrl).build());
+            touchItem(item);
             return new ImageDto.Response(image.getItemImageId(), image.getUrl());
         } else if (shopId != null) {
             Shop shop = shopRepository.findById(shopId).orElseThrow();
             ShopImage image = shopImageRepository.save(ShopImage.builder().shop(shop).url(imageUrl).build());
+            shopRepository.bumpVersion(shop);
+            detailCache.evictShop(shop.getShopId());
             return new ImageDto.Response(image.getShopImageId(), image.getUrl());
         } else {
             Market market = marketRepository.findById(marketId).orElseThrow();
             MarketImage image = marketImageRepository.save(MarketImage.builder().market(market).url(imageUrl).build());
+            marketRepository.bumpVersion(market);
+            detailCache.evictMarket(market.getMarketId());
             return new ImageDto.Response(image.getMarketImageId(), image.getUrl());
         }
     }
@@ -80,17 +89,34 @@ public class ImageService {
         return List.of();
     }
 
+    @Transactional
     public void deleteImage(Long marketId, Long shopId, Long itemId,Long imageId, Long reviewId) {
-        if (reviewImageRepository.existsById(reviewId)&&reviewId!=null) {
+        // null ID 로 existsById 를 부르면 예외이므로 null 검사를 먼저 한다
+        if (reviewId!=null&&reviewImageRepository.existsById(reviewId)) {
             reviewImageRepository.deleteById(reviewId);
-        }else if (itemImageRepository.existsById(imageId)&&itemId!=null) {
-            itemImageRepository.deleteById(imageId);
-        } else if (shopImageRepository.existsById(imageId)&&shopId!=null) {
-            shopImageRepository.deleteById(imageId);
-        } else if (marketImageRepository.existsById(imageId)&&marketId!=null) {
-            marketImageRepository.deleteById(imageId);
+        }else if (itemId!=null&&itemImageRepository.existsById(imageId)) {
+            ItemImage image = itemImageRepository.findById(imageId).orElseThrow();
+            touchItem(image.getItem());
+            itemImageRepository.delete(image);
+        } else if (shopId!=null&&shopImageRepository.existsById(imageId)) {
+            ShopImage image = shopImageRepository.findById(imageId).orElseThrow();
+            shopRepository.bumpVersion(image.getShop());
+            detailCache.evictShop(image.getShop().getShopId());
+            shopImageRepository.delete(image);
+        } else if (marketId!=null&&marketImageRepository.existsById(imageId)) {
+            MarketImage image = marketImageRepository.findById(imageId).orElseThrow();
+            marketRepository.bumpVersion(image.getMarket());
+            detailCache.evictMarket(image.getMarket().getMarketId());
+            marketImageRepository.delete(image);
         } else {
             throw new IllegalArgumentException("이미지를 찾을 수 없습니다.");
         }
     }
+
+    /** 상품 이미지 변경은 상품 상세와 그 상품을 담은 상점 상세의 ETag 를 모두 바꾼다 */
+    private void touchItem(Item item) {
+        itemRepository.bumpVersion(item);
+        shopRepository.bumpVersion(item.getShop());
+        detailCache.evictShop(item.getShop().getShopId());
+    }
 }
@@ -0,0 +1,56 @@
+package com.eiummarket.demo.service;
+
+import com.eiummarket.demo.repository.ItemImageRepository;
+import com.eiummarket.demo.repository.MarketImageRepository;
+import com.eiummarket.demo.repository.ReviewImageRepository;
+import com.eiummarket.demo.repository.ShopImageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 목록 DTO 변환용 이미지 URL 일괄 조회.
+ * 한 페이지에 담긴 엔티티 ID를 모아 이미지 테이블마다 IN 쿼리 한 번으로 읽어,
+ * 엔티티마다 images 컬렉션을 초기화하던 N번의 조회를 대신한다.
+ * 반환 맵은 모든 요청 ID를 키로 가지며 이미지가 없으면 빈 목록이다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageUrlBatchLoader {
+
+    private final ShopImageRepository shopImageRepository;
+    private final ItemImageRepository itemImageRepository;
+    private final MarketImageRepository marketImageRepository;
+    private final ReviewImageRepository reviewImageRepository;
+
+    public Map<Long, List<String>> shopImageUrls(Collection<Long> shopIds) {
+        return load(shopIds, shopImageRepository::findUrlsByShopIdIn);
+    }
+
+    public Map<Long, List<String>> itemImageUrls(Collection<Long> itemIds) {
+        return load(itemIds, itemImageRepository::findUrlsByItemIdIn);
+    }
+
+    public Map<Long, List<String>> marketImageUrls(Collection<Long> marketIds) {
+        return load(marketIds, marketImageRepository::findUrlsByMarketIdIn);
+    }
+
+    public Map<Long, List<String>> reviewImageUrls(Collection<Long> reviewIds) {
+        return load(reviewIds, reviewImageRepository::findUrlsByReviewIdIn);
+    }
+
+    private static Map<Long, List<String>> load(Collection<Long> ids, Function<Collection<Long>, List<Object[]>> query) {
+        Map<Long, List<String>> urls = new HashMap<>();
+        Set<Long> distinct = new HashSet<>();
+        for (Long id : ids) {
+            if (id != null && distinct.add(id)) urls.put(id, new ArrayList<>());
+        }
+        if (distinct.isEmpty()) return urls;
+        for (Object[] row : query.apply(distinct)) {
+            urls.get((Long) row[0]).add((String) row[1]);
+        }
+        return urls;
+    }
+}
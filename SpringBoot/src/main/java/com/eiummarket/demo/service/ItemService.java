@@ -1,12 +1,16 @@
 package com.eiummarket.demo.service;
 
 import com.eiummarket.demo.dto.ItemDto;
+import com.eiummarket.demo.event.ChangeType;
+import com.eiummarket.demo.event.ItemChangedEvent;
 import com.eiummarket.demo.model.*;
 import com.eiummarket.demo.repository.ItemImageRepository;
 import com.eiummarket.demo.repository.ItemRepository;
 import com.eiummarket.demo.repository.ShopRepository;
+import com.eiummarket.demo.service.cache.DetailCache;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -15,6 +19,8 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -29,6 +35,9 @@ public class ItemService {
     private final ShopRepository shopRepository;
     private final ItemImageRepository itemImageRepository;
     private final FileStorageService fileStorageService;
+    private final ImageUrlBatchLoader imageUrlBatchLoader;
+    private final DetailCache detailCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     // CREATE
     public ItemDto.Response createItem(Long marketId, Long shopId, ItemDto.CreateRequest req) {
@@ -63,6 +72,9 @@ public class ItemService {
             }
         }
         Item savedItem = itemRepository.save(item);
+        shopRepository.bumpVersion(shop);
+        detailCache.evictShop(shopId);
+        eventPublisher.publishEvent(new ItemChangedEvent(marketId, shopId, savedItem.getItemId(), ChangeType.CREATED));
 
         return toResponse(savedItem);
     }
@@ -79,14 +91,26 @@ public class ItemService {
         return toResponse(item);
     }
 
+    /** 상품 상세의 ETag. 상세 응답을 만들지 않고 버전만 읽는다 */
+    @Transactional(readOnly = true)
+    public String getItemETag(Long marketId, Long shopId, Long itemId) {
+        Long version = itemRepository.findVersionByItemId(marketId, shopId, itemId)
+                .orElseThrow(() -> new EntityNotFoundException("해당 상품을 찾을 수 없습니다."));
+        return "item-" + itemId + "-" + version;
+    }
+
     // READ - 리스트
     @Transactional(readOnly = true)
     public Page<ItemDto.Response> listByShop(Long marketId, Long shopId, Pageable pageable) {
-        Shop shop = shopRepository.findByShopIdAndMarket_MarketId(shopId, marketId)
-                .orElseThrow(() -> new EntityNotFoundException("상점을 찾을 수 없습니다."));
-
-        return itemRepository.findAllByShop_ShopId(shop.getShopId(), pageable)
-                .map(this::toResponse);
+        // 상품이 바뀌면 상점 버전이 오르므로, 상점 버전이 같으면 Redis 에 있는 목록을 그대로 쓴다
+        List<Object[]> version = shopRepository.findVersionRow(marketId, shopId);
+        if (version.isEmpty()) throw new EntityNotFoundException("상점을 찾을 수 없습니다.");
+
+        return detailCache.items(shopId, pageable, "shop-" + shopId + "-" + version.get(0)[0], () -> {
+            Page<Item> page = itemRepository.findAllByShop_ShopId(shopId, pageable);
+            Map<Long, List<String>> imageUrls = imageUrlBatchLoader.itemImageUrls(page.map(Item::getItemId).getContent());
+            return page.map(item -> toResponse(item, imageUrls.get(item.getItemId())));
+        });
     }
 
     public ItemDto.Response updateItem(Long itemId, ItemDto.UpdateRequest request) {
@@ -117,6 +141,12 @@ public class ItemService {
                 if (!exists) item.getImages().add(ItemImage.builder().item(item).url(url).build());
             }
         }
+        // 이미지만 바뀌어도 ETag 가 바뀌어야 하고, 상점 상세에도 상품이 포함되므로 상점 버전도 올린다
+        itemRepository.bumpVersion(item);
+        shopRepository.bumpVersion(item.getShop());
+        detailCache.evictShop(item.getShop().getShopId());
+        eventPublisher.publishEvent(new ItemChangedEvent(
+                item.getShop().getMarket().getMarketId(), item.getShop().getShopId(), itemId, ChangeType.UPDATED));
 
         return toResponse(item);
     }
@@ -131,6 +161,9 @@ public class ItemService {
         }
 
         itemRepository.delete(item);
+        shopRepository.bumpVersion(item.getShop());
+        detailCache.evictShop(shopId);
+        eventPublisher.publishEvent(new ItemChangedEvent(marketId, shopId, itemId, ChangeType.DELETED));
     }
     private Set<String> mergeAndCleanStrings(String existingStr, String requestStr) {
         Set<String> mergedSet = new HashSet<>();
@@ -152,6 +185,11 @@ public class ItemService {
     }
 
     private ItemDto.Response toResponse(Item item) {
+        return toResponse(item, item.getImages().stream().map(ItemImage::getUrl).toList());
+    }
+
+    /** 목록 변환용: 이미지 URL은 {@link ImageUrlBatchLoader}로 미리 읽어 둔 것을 사용 */
+    private ItemDto.Response toResponse(Item item, List<String> imageUrls) {
         return ItemDto.Response.builder()
                 .itemId(item.getItemId())
                 .shopId(item.getShop().getShopId())
@@ -160,7 +198,10 @@ public class ItemService {
                 .category(item.getCategory())
                 .description(item.getDescription())
                 .createdAt(item.getCreatedAt())
-                .imageUrls(item.getImages().stream().map(ItemImage::getUrl).toList())
+                .imageUrls(imageUrls)
+                .ratingAverage(RatingStats.round(item.getRating().getAverage()))
+                .ratingCount(item.getRating().getCount())
+                .ratingHistogram(item.getRating().histogram())
                 .build();
     }
 }
@@ -0,0 +1,50 @@
+package com.eiummarket.demo.service;
+
+import com.eiummarket.demo.dto.MapDto;
+import com.eiummarket.demo.service.geo.MapClusterIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MapService {
+
+    private final MapClusterIndex mapClusterIndex;
+
+    /**
+     * 지도 화면 영역의 시장/상점 묶음 조회
+     * @param bbox "서경,남위,동경,북위" (minLng,minLat,maxLng,maxLat)
+     */
+    public List<MapDto.Cluster> getClusters(String bbox, int zoom) {
+        if (zoom < 0 || zoom > MapClusterIndex.MAX_ZOOM) {
+            throw new IllegalArgumentException("zoom은 0~" + MapClusterIndex.MAX_ZOOM + " 범위여야 합니다.");
+        }
+        double[] box = parseBbox(bbox);
+        return mapClusterIndex.clusters(box[1], box[0], box[3], box[2], zoom);
+    }
+
+    private static double[] parseBbox(String bbox) {
+        String[] parts = bbox == null ? new String[0] : bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox는 minLng,minLat,maxLng,maxLat 형식이어야 합니다.");
+        }
+        double[] box = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) box[i] = Double.parseDouble(parts[i].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox 좌표는 숫자여야 합니다.");
+        }
+        for (double v : box) {
+            // "NaN", "Infinity" 도 parseDouble 은 받아들인다
+            if (!Double.isFinite(v)) throw new IllegalArgumentException("bbox 좌표는 숫자여야 합니다.");
+        }
+        if (box[0] > box[2] || box[1] > box[3]) {
+            throw new IllegalArgumentException("bbox의 최소 좌표가 최대 좌표보다 클 수 없습니다.");
+        }
+        return box;
+    }
+}
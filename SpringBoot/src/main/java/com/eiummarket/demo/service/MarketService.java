@@ -1,17 +1,33 @@
 package com.eiummarket.demo.service;
 
+import com.eiummarket.demo.Utils.CursorUtils;
+import com.eiummarket.demo.Utils.ListingCursor;
 import com.eiummarket.demo.Utils.SearchUtils;
+import com.eiummarket.demo.dto.CursorPage;
 import com.eiummarket.demo.dto.MarketDto;
+import com.eiummarket.demo.event.ChangeType;
+import com.eiummarket.demo.event.MarketChangedEvent;
 import com.eiummarket.demo.model.Market;
 import com.eiummarket.demo.model.MarketImage;
 import com.eiummarket.demo.model.Shop;
 import com.eiummarket.demo.repository.MarketImageRepository;
 import com.eiummarket.demo.repository.MarketRepository;
+import com.eiummarket.demo.service.cache.DetailCache;
+import com.eiummarket.demo.service.cache.ListingCounts;
+import com.eiummarket.demo.service.geo.MarketGeoIndex;
+import com.eiummarket.demo.service.search.SearchFanout;
+import com.eiummarket.demo.service.search.MarketNameIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -21,6 +37,8 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.eiummarket.demo.Utils.SearchUtils.addAllMarkets;
@@ -33,6 +51,24 @@ public class MarketService {
     private final MarketRepository marketRepository;
     private final MarketImageRepository marketImageRepository;
     private final FileStorageService fileStorageService;
+    private final ImageUrlBatchLoader imageUrlBatchLoader;
+    private final DetailCache detailCache;
+    private final ListingCounts listingCounts;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SearchFanout searchFanout;
+    private final MarketNameIndex marketNameIndex;
+    private final MarketGeoIndex marketGeoIndex;
+
+    @Value("${search.market.fanout.enabled:true}")
+    private boolean fanoutEnabled;
+
+    @Value("${search.market.fulltext.enabled:false}")
+    private boolean fulltextEnabled;
+
+    @Value("${geo.market.nearby.max-radius-km:50}")
+    private double nearbyMaxRadiusKm;
+
+    private static final int NEARBY_MAX_LIMIT = 100;
 
     @Transactional
     public MarketDto.Response create(MarketDto.CreateRequest req) {
@@ -48,6 +84,7 @@ public class MarketService {
                 .build();
 
         Market saved = marketRepository.save(market);
+        eventPublisher.publishEvent(new MarketChangedEvent(saved.getMarketId(), ChangeType.CREATED));
 
         // 이미지 파일 개별 추가
         if (req.getImageFiles() != null) {
@@ -67,9 +104,23 @@ public class MarketService {
     }
 
     public MarketDto.Response get(Long id) {
-        Market market = marketRepository.findById(id)
+        return get(id, getMarketETag(id));
+    }
+
+    /** etag 는 getMarketETag 로 읽은 값. 같은 버전의 응답이 Redis 에 있으면 DB 에서 다시 만들지 않는다 */
+    public MarketDto.Response get(Long id, String etag) {
+        return detailCache.market(id, etag, () -> {
+            Market market = marketRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("해당 ID의 시장을 찾을 수 없습니다."));
+            return toResponse(market);
+        });
+    }
+
+    /** 시장 상세의 ETag. 상세 응답을 만들지 않고 버전만 읽는다 */
+    public String getMarketETag(Long marketId) {
+        Long version = marketRepository.findVersionByMarketId(marketId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 ID의 시장을 찾을 수 없습니다."));
-        return toResponse(market);
+        return "market-" + marketId + "-" + version;
     }
 
     public String getMarketNameById(Long marketId) {
@@ -78,8 +129,20 @@ public class MarketService {
         return market.getName();
     }
 
+    /** 오프셋 목록. 전체 개수는 마지막 페이지처럼 행 수로 알 수 있으면 세지 않고, 필요하면 캐시된 개수를 쓴다 */
     public Page<MarketDto.Response> list(Pageable pageable) {
-        return marketRepository.findAll(pageable).map(this::toResponse);
+        List<Market> markets = marketRepository.findAllBy(pageable);
+        return toResponses(PageableExecutionUtils.getPage(markets, pageable, () -> listingCounts.markets(marketRepository::count)));
+    }
+
+    /** 시장 커서 목록 (이름·등록일 정렬). size+1 개만 읽어 다음 페이지 여부를 판단하므로 COUNT 가 없다 */
+    public CursorPage<MarketDto.Response> scroll(String cursor, int size, Sort sort) {
+        Sort.Order order = SearchUtils.toKeysetOrder(sort, SearchUtils.MARKET_KEYSET_PROPERTIES);
+        ListingCursor after = ListingCursor.parse(cursor, order);
+        int limit = CursorUtils.clampSize(size);
+        return CursorPage.of(marketRepository.findAfter(order, after, limit + 1), limit,
+                        m -> new ListingCursor(order, "createdAt".equals(order.getProperty()) ? m.getCreatedAt() : m.getName(), m.getMarketId()).encode())
+                .map(this::toResponses);
     }
 
     @Transactional
@@ -110,6 +173,10 @@ public class MarketService {
                 if (!exists) market.getImages().add(MarketImage.builder().market(market).url(url).build());
             }
         }
+        // 이미지만 바뀌어도 상세 ETag 가 바뀌어야 한다
+        marketRepository.bumpVersion(market);
+        detailCache.evictMarket(marketId);
+        eventPublisher.publishEvent(new MarketChangedEvent(marketId, ChangeType.UPDATED));
         return toResponse(market);
     }
 
@@ -119,37 +186,98 @@ public class MarketService {
                 .orElseThrow(() -> new EntityNotFoundException("해당 시장을 찾을 수 없습니다. ID=" + marketId));
         // 관련된 상점, 상품, 리뷰 등이 모두 삭제됨 (cascade = CascadeType.ALL)
         marketRepository.delete(market);
+        detailCache.evictMarket(marketId);
+        eventPublisher.publishEvent(new MarketChangedEvent(marketId, ChangeType.DELETED));
     }
 
-    @Transactional
+    /**
+     * 시장명/설명 검색. 팬아웃 branch 가 각자 커넥션을 쓰므로 바깥 트랜잭션 없이 실행한다
+     * (결과 변환은 기본 컬럼과 이미지 URL 일괄 조회만 쓰므로 준영속 엔티티로 충분하다).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<MarketDto.Response> searchMarkets(String keyword, Pageable pageable){
         String sanitized = SearchUtils.sanitize(keyword);
         if (sanitized == null) {
-            return marketRepository.findAll(pageable).map(this::toResponse);
+            return list(pageable);
         }
         sanitized = sanitized.replace("%", "").replace("_", "").trim();
         if (!org.springframework.util.StringUtils.hasText(sanitized)) {
-            return marketRepository.findAll(pageable).map(this::toResponse);
+            return list(pageable);
         }
 
-        List<Market> ByName= marketRepository.findMarketByNameContaining(sanitized, pageable).getContent();
-        List<Market> ByDesc = marketRepository.findMarketByDescriptionContaining(sanitized, pageable).getContent();
+        String term = sanitized;
+        // 하위 쿼리는 정렬 없이 넉넉히 가져오고, 정렬/페이지네이션은 병합 후 처리
+        Pageable probe = PageRequest.of(0, Math.max(pageable.getPageSize() * 5, 100));
+        Supplier<List<Market>> byDescQuery = (fulltextEnabled && SearchUtils.isFulltextSearchable(term))
+                ? () -> marketRepository.findMarketByDescriptionMatch(SearchUtils.toFulltextPhrase(term), probe).getContent()
+                : () -> marketRepository.findMarketByDescriptionContaining(term, probe).getContent();
+        List<Market> ByName;
+        List<Market> ByDesc;
+        if (fanoutEnabled) {
+            SearchFanout.Results<Market> results = searchFanout.run("market", List.of(
+                    new SearchFanout.Branch<>("name", () -> marketRepository.findMarketByNameContaining(term, probe).getContent()),
+                    new SearchFanout.Branch<>("description", byDescQuery)
+            ));
+            ByName = results.get(0);
+            ByDesc = results.get(1);
+        } else {
+            ByName = marketRepository.findMarketByNameContaining(term, probe).getContent();
+            ByDesc = byDescQuery.get();
+        }
 
         Map<Long, Market> merged = new LinkedHashMap<>();
         addAllMarkets(merged, ByDesc);
         addAllMarkets(merged, ByName);
+        // 초성/입력 중 자모로만 일치하는 시장명 (BM25 점수 0 으로 뒤에 정렬됨)
+        List<Long> byJamo = marketNameIndex.search(term).stream().filter(id -> !merged.containsKey(id)).toList();
+        if (!byJamo.isEmpty()) {
+            addAllMarkets(merged, marketRepository.findAllById(byJamo));
+        }
 
         List<Market> all = new ArrayList<>(merged.values());
-        SearchUtils.sortByPageableMarket(all, pageable);
+        // 시장명 > 설명 가중치의 BM25. df/평균 길이는 전체 시장 통계를 쓴다
+        Map<Long, Double> scores = marketNameIndex.score(all, term);
+        SearchUtils.sortByPageableMarket(all, pageable, scores);
 
         int total=all.size();
         int start = (int) pageable.getOffset();
         int end = Math.min(start + pageable.getPageSize(), total);
         List<Market> slice = (start >= total) ? List.of() : all.subList(start, end);
 
-        return new PageImpl<>(slice.stream().map(this::toResponse).toList(), pageable, total);
+        return toResponses(new PageImpl<>(slice, pageable, total));
+
+
+    }
 
+    /**
+     * 기준 좌표 반경 내 시장을 가까운 순으로 조회. 후보 선정/정렬은 좌표 색인에서 하고 DB에서는 결과 시장만 읽는다.
+     */
+    public List<MarketDto.NearbyResponse> findNearby(double lat, double lng, double radiusKm, int limit) {
+        // NaN 은 모든 비교가 false 라 범위 검사를 통과하므로 먼저 거른다
+        if (!Double.isFinite(lat) || !Double.isFinite(lng) || lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("위도는 -90~90, 경도는 -180~180 범위여야 합니다.");
+        }
+        if (!Double.isFinite(radiusKm) || radiusKm <= 0 || radiusKm > nearbyMaxRadiusKm) {
+            throw new IllegalArgumentException("반경은 0 초과 " + nearbyMaxRadiusKm + "km 이하여야 합니다.");
+        }
+        List<MarketGeoIndex.Hit> hits = marketGeoIndex.nearby(lat, lng, radiusKm, Math.min(Math.max(limit, 1), NEARBY_MAX_LIMIT));
 
+        Map<Long, Market> markets = marketRepository.findAllById(hits.stream().map(MarketGeoIndex.Hit::marketId).toList())
+                .stream().collect(Collectors.toMap(Market::getMarketId, m -> m));
+        return hits.stream()
+                .filter(hit -> markets.containsKey(hit.marketId()))
+                .map(hit -> {
+                    Market m = markets.get(hit.marketId());
+                    return MarketDto.NearbyResponse.builder()
+                            .marketId(m.getMarketId())
+                            .name(m.getName())
+                            .address(m.getAddress())
+                            .latitude(m.getLatitude())
+                            .longitude(m.getLongitude())
+                            .distanceKm(Math.round(hit.distanceKm() * 100) / 100.0)
+                            .build();
+                })
+                .toList();
     }
 
     @Transactional
@@ -157,7 +285,21 @@ public class MarketService {
         return marketRepository.findByNameOrAddress(name, address).isPresent();
     }
 
+    private Page<MarketDto.Response> toResponses(Page<Market> page) {
+        Map<Long, List<String>> imageUrls = imageUrlBatchLoader.marketImageUrls(page.map(Market::getMarketId).getContent());
+        return page.map(m -> toResponse(m, imageUrls.get(m.getMarketId())));
+    }
+
+    private List<MarketDto.Response> toResponses(List<Market> markets) {
+        Map<Long, List<String>> imageUrls = imageUrlBatchLoader.marketImageUrls(markets.stream().map(Market::getMarketId).toList());
+        return markets.stream().map(m -> toResponse(m, imageUrls.get(m.getMarketId()))).toList();
+    }
+
     private MarketDto.Response toResponse(Market m) {
+        return toResponse(m, m.getImages().stream().map(MarketImage::getUrl).collect(Collectors.toList()));
+    }
+
+    private MarketDto.Response toResponse(Market m, List<String> imageUrls) {
         return MarketDto.Response.builder()
                 .marketId(m.getMarketId())
                 .name(m.getName())
@@ -166,9 +308,7 @@ public class MarketService {
                 .longitude(m.getLongitude())
                 .description(m.getDescription())
                 .createdAt(m.getCreatedAt())
-                .imageUrls(m.getImages().stream()
-                        .map(MarketImage::getUrl)
-                        .collect(Collectors.toList()))
+                .imageUrls(imageUrls)
                 .build();
     }
 }
@@ -1,24 +1,39 @@
 // src/main/java/com/eiummarket/demo/service/ReviewService.java
 package com.eiummarket.demo.service;
 
+import com.eiummarket.demo.Utils.CursorUtils;
+import com.eiummarket.demo.dto.CursorPage;
 import com.eiummarket.demo.dto.ReviewDto;
+import com.eiummarket.demo.event.ChangeType;
+import com.eiummarket.demo.event.ReviewChangedEvent;
 import com.eiummarket.demo.model.*;
 import com.eiummarket.demo.repository.*;
+import com.eiummarket.demo.service.cache.DetailCache;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
 @Service @RequiredArgsConstructor @Transactional(readOnly = true)
 public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final ShopRepository shopRepository;
     private final ItemRepository itemRepository;
+    private final RatingStatsJdbcRepository ratingStatsJdbcRepository;
     private final ReviewImageRepository reviewImageRepository;
     private final FileStorageService fileStorageService;
+    private final ImageUrlBatchLoader imageUrlBatchLoader;
+    private final DetailCache detailCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ReviewDto.Response createReview(ReviewDto.CreateRequest req) {
@@ -53,6 +68,8 @@ public class ReviewService {
                 reviewImageRepository.save(ReviewImage.builder().review(saved).url(url).build());
             }
         }
+        applyRating(saved, saved.getRating(), 1);
+        publish(saved, ChangeType.CREATED);
         return toResponse(saved);
     }
 
@@ -63,18 +80,68 @@ public class ReviewService {
     }
 
     public Page<ReviewDto.Response> listByShop(Long shopId, Pageable pageable) {
-        return reviewRepository.findByShop_ShopId(shopId, pageable).map(this::toResponse);
+        return toResponses(reviewRepository.findByShop_ShopId(shopId, pageable));
     }
 
     public Page<ReviewDto.Response> listByItem(Long itemId, Pageable pageable) {
-        return reviewRepository.findByItem_ItemId(itemId, pageable).map(this::toResponse);
+        return toResponses(reviewRepository.findByItem_ItemId(itemId, pageable));
+    }
+
+    /**
+     * 상점 리뷰 최신순 커서 목록. cursor 가 없으면 첫 페이지.
+     * size+1 개만 읽어 다음 페이지 여부를 판단하므로 COUNT 쿼리가 없다.
+     */
+    public CursorPage<ReviewDto.Response> scrollByShop(Long shopId, String cursor, int size) {
+        int limit = CursorUtils.clampSize(size);
+        List<Review> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = reviewRepository.findLatestByShop(shopId, Limit.of(limit + 1));
+        } else {
+            ReviewCursor after = ReviewCursor.parse(cursor);
+            rows = reviewRepository.findLatestByShopAfter(shopId, after.createdAt(), after.reviewId(), Limit.of(limit + 1));
+        }
+        return CursorPage.of(rows, limit, ReviewCursor::encode).map(this::toResponses);
+    }
+
+    /** 상품 리뷰 최신순 커서 목록 */
+    public CursorPage<ReviewDto.Response> scrollByItem(Long itemId, String cursor, int size) {
+        int limit = CursorUtils.clampSize(size);
+        List<Review> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = reviewRepository.findLatestByItem(itemId, Limit.of(limit + 1));
+        } else {
+            ReviewCursor after = ReviewCursor.parse(cursor);
+            rows = reviewRepository.findLatestByItemAfter(itemId, after.createdAt(), after.reviewId(), Limit.of(limit + 1));
+        }
+        return CursorPage.of(rows, limit, ReviewCursor::encode).map(this::toResponses);
+    }
+
+    /** 리뷰 목록 커서: 마지막으로 받은 리뷰의 (createdAt, reviewId) */
+    private record ReviewCursor(LocalDateTime createdAt, Long reviewId) {
+
+        static String encode(Review r) {
+            return CursorUtils.encode(r.getCreatedAt(), r.getReviewId());
+        }
+
+        static ReviewCursor parse(String cursor) {
+            String[] keys = CursorUtils.decode(cursor, 2);
+            try {
+                return new ReviewCursor(LocalDateTime.parse(keys[0]), Long.valueOf(keys[1]));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            }
+        }
     }
 
     @Transactional
     public ReviewDto.Response updateReview(Long reviewId, ReviewDto.UpdateRequest req) {
         Review r = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new EntityNotFoundException("리뷰 없음: " + reviewId));
-        if (req.getRating() != null) r.setRating(req.getRating());
+        if (req.getRating() != null && !req.getRating().equals(r.getRating())) {
+            applyRating(r, r.getRating(), -1);
+            applyRating(r, req.getRating(), 1);
+            r.setRating(req.getRating());
+        }
         if (req.getContent() != null) r.setContent(req.getContent());
 
         // 이미지 전체 삭제
@@ -95,23 +162,68 @@ public class ReviewService {
                 if (!exists) r.getImages().add(ReviewImage.builder().review(r).url(url).build());
             }
         }
+        publish(r, ChangeType.UPDATED);
         return toResponse(r);
     }
 
     @Transactional
     public void deleteReview(Long reviewId) {
-        if (!reviewRepository.existsById(reviewId)) throw new EntityNotFoundException("리뷰 없음: " + reviewId);
-        reviewRepository.deleteById(reviewId);
+        Review r = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new EntityNotFoundException("리뷰 없음: " + reviewId));
+        applyRating(r, r.getRating(), -1);
+        reviewRepository.delete(r);
+        publish(r, ChangeType.DELETED);
+    }
+
+    /**
+     * 리뷰 대상(상점 또는 상품)의 평점 집계에 별점 하나를 더하거나(delta=1) 뺀다(delta=-1). 행 단위 UPDATE 라 동시 리뷰에도 잃지 않는다.
+     * 상점 상세에 상품 평점도 나오므로 상품 리뷰여도 상점 버전을 올리고 상세 캐시를 비운다.
+     */
+    private void applyRating(Review r, int star, int delta) {
+        Shop owner = ownerOf(r);
+        if (r.getItem() != null) {
+            ratingStatsJdbcRepository.addItemRating(r.getItem().getItemId(), star, delta);
+            itemRepository.bumpVersion(r.getItem());
+        } else {
+            ratingStatsJdbcRepository.addShopRating(owner.getShopId(), star, delta);
+        }
+        shopRepository.bumpVersion(owner);
+        detailCache.evictShop(owner.getShopId());
+    }
+
+    private void publish(Review r, ChangeType type) {
+        Shop owner = ownerOf(r);
+        eventPublisher.publishEvent(new ReviewChangedEvent(owner.getMarket().getMarketId(), owner.getShopId(),
+                r.getItem() == null ? null : r.getItem().getItemId(), r.getReviewId(), type));
+    }
+
+    /** 리뷰가 속한 상점 (상품 리뷰면 상품의 상점) */
+    private static Shop ownerOf(Review r) {
+        return (r.getShop() != null) ? r.getShop() : r.getItem().getShop();
+    }
+
+    private Page<ReviewDto.Response> toResponses(Page<Review> page) {
+        Map<Long, List<String>> imageUrls = imageUrlBatchLoader.reviewImageUrls(page.map(Review::getReviewId).getContent());
+        return page.map(r -> toResponse(r, imageUrls.get(r.getReviewId())));
+    }
+
+    private List<ReviewDto.Response> toResponses(List<Review> reviews) {
+        Map<Long, List<String>> imageUrls = imageUrlBatchLoader.reviewImageUrls(reviews.stream().map(Review::getReviewId).toList());
+        return reviews.stream().map(r -> toResponse(r, imageUrls.get(r.getReviewId()))).toList();
     }
 
     private ReviewDto.Response toResponse(Review r) {
+        return toResponse(r, r.getImages().stream().map(ReviewImage::getUrl).toList());
+    }
+
+    private ReviewDto.Response toResponse(Review r, List<String> imageUrls) {
         return ReviewDto.Response.builder()
                 .reviewId(r.getReviewId()).userId(r.getUserId())
                 .rating(r.getRating()).content(r.getContent())
                 .shopId(r.getShop() == null ? null : r.getShop().getShopId())
                 .itemId(r.getItem() == null ? null : r.getItem().getItemId())
                 .createdAt(r.getCreatedAt())
-                .imageUrls(r.getImages().stream().map(ReviewImage::getUrl).toList())
+                .imageUrls(imageUrls)
                 .build();
     }
 }
@@ -0,0 +1,59 @@
+package com.eiummarket.demo.service;
+
+import com.eiummarket.demo.dto.ShopDto;
+import com.eiummarket.demo.model.RatingStats;
+import com.eiummarket.demo.repository.ShopRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 상점 목록 카드 조회. 카드 컬럼 projection 한 번과 카테고리 ID IN 조회 한 번으로
+ * 상점/상품/이미지 엔티티 그래프를 읽지 않고 목록을 만든다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShopCardLoader {
+
+    private final ShopRepository shopRepository;
+    private final FavoriteCounter favoriteCounter;
+
+    /** 주어진 ID 순서를 유지하며 카드 조회 (없는 상점은 제외) */
+    public List<ShopDto.Card> load(List<Long> shopIds) {
+        if (shopIds.isEmpty()) return List.of();
+        Map<Long, ShopDto.Card> cards = new HashMap<>();
+        for (ShopDto.Card card : toCards(shopRepository.findCardRowsByShopIdIn(shopIds))) {
+            cards.put(card.getShopId(), card);
+        }
+        return shopIds.stream().map(cards::get).filter(Objects::nonNull).toList();
+    }
+
+    /** 카드 컬럼 행 목록을 카드 목록으로 변환 */
+    public List<ShopDto.Card> toCards(List<Object[]> rows) {
+        if (rows.isEmpty()) return List.of();
+        List<ShopDto.Card> cards = new ArrayList<>(rows.size());
+        Map<Long, List<Long>> categoryIds = new HashMap<>();
+        for (Object[] row : rows) {
+            Long shopId = (Long) row[0];
+            List<Long> ids = new ArrayList<>();
+            categoryIds.put(shopId, ids);
+            cards.add(ShopDto.Card.builder()
+                    .shopId(shopId)
+                    .marketId((Long) row[1])
+                    .name((String) row[2])
+                    .floor((String) row[3])
+                    .favoriteCount(favoriteCounter.current(shopId, (Long) row[4]))
+                    .imageUrl((String) row[5])
+                    .ratingAverage(RatingStats.round((Double) row[6]))
+                    .ratingCount((Long) row[7])
+                    .categoryIds(ids)
+                    .build());
+        }
+        for (Object[] row : shopRepository.findCategoryIdsByShopIdIn(categoryIds.keySet())) {
+            categoryIds.get((Long) row[0]).add((Long) row[1]);
+        }
+        categoryIds.values().forEach(Collections::sort);
+        return cards;
+    }
+}
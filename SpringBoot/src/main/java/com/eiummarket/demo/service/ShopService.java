@@ -1,18 +1,35 @@
 package com.eiummarket.demo.service;
 
+import com.eiummarket.demo.Utils.CursorUtils;
+import com.eiummarket.demo.Utils.ListingCursor;
 import com.eiummarket.demo.Utils.SearchUtils;
 import com.eiummarket.demo.dto.CategoryDto;
+import com.eiummarket.demo.dto.CursorPage;
 import com.eiummarket.demo.dto.ItemDto;
 import com.eiummarket.demo.dto.ShopDto;
+import com.eiummarket.demo.event.ChangeType;
+import com.eiummarket.demo.event.ShopChangedEvent;
 import com.eiummarket.demo.model.*;
 import com.eiummarket.demo.repository.*;
+import com.eiummarket.demo.service.cache.DetailCache;
+import com.eiummarket.demo.service.cache.ListingCounts;
+import com.eiummarket.demo.service.search.Hangul;
+import com.eiummarket.demo.service.search.SearchFanout;
+import com.eiummarket.demo.service.search.SearchResultCache;
+import com.eiummarket.demo.service.search.ShopSearchBackend;
+import com.eiummarket.demo.service.search.ShopSearchIndex;
+import com.eiummarket.demo.service.trending.TrendingShops;
 
 import jakarta.persistence.EntityNotFoundException;
 
 import reactor.core.publisher.Mono;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
+import org.springframework.data.support.PageableExecutionUtils;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -33,10 +50,26 @@ public class ShopService {
     private final CategoryRepository categoryRepository;
     private final ItemRepository itemRepository;
     private final FileStorageService fileStorageService;
+    private final ImageUrlBatchLoader imageUrlBatchLoader;
+    private final ShopSearchIndex shopSearchIndex;
+    private final SearchResultCache searchResultCache;
+    private final ShopCardLoader shopCardLoader;
+    private final SearchFanout searchFanout;
+    private final DetailCache detailCache;
+    private final ListingCounts listingCounts;
+    private final FavoriteCounter favoriteCounter;
+    private final TrendingShops trendingShops;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     private final WebClient webClient;
 
+    @Value("${search.shop.backend:INDEX}")
+    private ShopSearchBackend searchBackend;
+
+    private static final int AUTOCOMPLETE_MAX_LIMIT = 20;
+    private static final int TRENDING_MAX_LIMIT = 50;
+
     /**
      * 상점 생성
      */
@@ -80,7 +113,8 @@ public class ShopService {
                 saved.getImages().add(ShopImage.builder().shop(saved).url(url).build());
             }
         }
-        
+        eventPublisher.publishEvent(new ShopChangedEvent(marketId, saved.getShopId(), ChangeType.CREATED));
+
         return toResponse(saved);
     }
 
@@ -89,25 +123,77 @@ public class ShopService {
      * 시장 내 상점 단건 조회
      */
     public ShopDto.Response getShop(Long marketId, Long shopId) {
-        Shop shop = shopRepository.findByShopIdAndMarket_MarketId(shopId, marketId)
-                .orElseThrow(() -> new IllegalArgumentException("Shop not found"));
-        return toResponse(shop);
+        return getShop(marketId, shopId, getShopETag(marketId, shopId));
+    }
+
+    /**
+     * etag 는 getShopETag 로 읽은 값. 같은 버전의 응답이 Redis 에 있으면 DB 에서 다시 만들지 않는다.
+     * 캐시에는 DB 에 저장된 찜 수로 만든 응답을 두고, 이 인스턴스의 미반영분은 꺼낸 뒤에 더한다.
+     */
+    public ShopDto.Response getShop(Long marketId, Long shopId, String etag) {
+        ShopDto.Response persisted = detailCache.shop(shopId, etag, () -> {
+            Shop shop = shopRepository.findByShopIdAndMarket_MarketId(shopId, marketId)
+                    .orElseThrow(() -> new IllegalArgumentException("Shop not found"));
+            return toPersistedResponse(shop);
+        });
+        return withPendingFavorites(persisted);
+    }
+
+    /**
+     * 상점 상세의 ETag. 상세 응답(상품·이미지·카테고리)을 만들지 않고 버전과 좋아요 수만 읽는다.
+     * 좋아요는 버전을 올리지 않으므로 저장된 찜 수를 따로 포함한다. 인스턴스마다 다른 {@link FavoriteCounter} 미반영분은 넣지 않아야
+     * 모든 인스턴스가 같은 행에 같은 ETag·캐시 토큰을 만든다 (미반영분은 다음 flush 후 ETag 에 반영된다).
+     */
+    public String getShopETag(Long marketId, Long shopId) {
+        List<Object[]> rows = shopRepository.findVersionRow(marketId, shopId);
+        if (rows.isEmpty()) throw new IllegalArgumentException("Shop not found");
+        Long favoriteCount = (Long) rows.get(0)[1];
+        return "shop-" + shopId + "-" + rows.get(0)[0] + "-" + (favoriteCount == null ? 0L : favoriteCount);
     }
 
 
     /**
      * 시장 내 상점들 조회
      */
-    public Page<ShopDto.Response> getShops(Long marketId, Long categoryId, Pageable pageable) {
-        Category category = null;
-        if (categoryId != null) {
-            category = categoryRepository.findById(categoryId)
-                    .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 카테고리입니다: " + categoryId));
-        }
-        Page<Shop> page = (category == null)
-                ? shopRepository.findAllByMarket_MarketId(marketId, pageable)
-                : shopRepository.findAllByMarket_MarketIdAndCategoriesContaining(marketId, category, pageable);
-        return page.map(this::toResponse);
+    public Page<ShopDto.Card> getShops(Long marketId, Long categoryId, Pageable pageable) {
+        Category category = findCategory(categoryId);
+        Pageable sorted = toShopEntitySort(pageable);
+        List<Object[]> rows = (category == null)
+                ? shopRepository.findCardRowsByMarketId(marketId, sorted)
+                : shopRepository.findCardRowsByMarketIdAndCategory(marketId, category, sorted);
+        // 전체 개수는 마지막 페이지처럼 행 수로 알 수 있으면 세지 않고, 필요하면 캐시된 개수를 쓴다
+        return PageableExecutionUtils.getPage(shopCardLoader.toCards(rows), sorted,
+                () -> listingCounts.shops(marketId, categoryId, () -> (category == null)
+                        ? shopRepository.countByMarket_MarketId(marketId)
+                        : shopRepository.countByMarket_MarketIdAndCategoriesContaining(marketId, category)));
+    }
+
+    /**
+     * 시장 내 상점 커서 목록 (이름·찜 수·등록일 정렬). size+1 개만 읽어 다음 페이지 여부를 판단하므로 COUNT 가 없다.
+     */
+    public CursorPage<ShopDto.Card> scrollShops(Long marketId, Long categoryId, String cursor, int size, Sort sort) {
+        Category category = findCategory(categoryId);
+        Sort.Order order = toKeysetOrder(sort, SHOP_KEYSET_PROPERTIES);
+        ListingCursor after = ListingCursor.parse(cursor, order);
+        int limit = CursorUtils.clampSize(size);
+        List<Object[]> rows = shopRepository.findCardRowsAfter(marketId, category, order, after, limit + 1);
+        return CursorPage.of(rows, limit, row -> new ListingCursor(order, cardSortKey(row, order), (Long) row[0]).encode())
+                .map(shopCardLoader::toCards);
+    }
+
+    private Category findCategory(Long categoryId) {
+        if (categoryId == null) return null;
+        return categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 카테고리입니다: " + categoryId));
+    }
+
+    /** 카드 컬럼 행에서 커서 정렬 키 값 (name, favoriteCount, createdAt) */
+    private static Object cardSortKey(Object[] row, Sort.Order order) {
+        return switch (order.getProperty()) {
+            case "favoriteCount" -> row[4];
+            case "createdAt" -> row[8];
+            default -> row[2];
+        };
     }
 
 
@@ -141,6 +227,10 @@ public class ShopService {
                 if (!exists) shop.getImages().add(ShopImage.builder().shop(shop).url(url).build());
             }
         }
+        // 이미지만 바뀌어도 상세 ETag 가 바뀌어야 한다
+        shopRepository.bumpVersion(shop);
+        detailCache.evictShop(shopId);
+        eventPublisher.publishEvent(new ShopChangedEvent(marketId, shopId, ChangeType.UPDATED));
 
         return toResponse(shop);
     }
@@ -154,32 +244,92 @@ public class ShopService {
         Shop shop = shopRepository.findByShopIdAndMarket_MarketId(shopId, marketId)
                 .orElseThrow(() -> new EntityNotFoundException("상점을 찾을 수 없습니다. ID=" + shopId + ", MarketID=" + marketId));
         shopRepository.delete(shop);
+        detailCache.evictShop(shopId);
+        eventPublisher.publishEvent(new ShopChangedEvent(marketId, shopId, ChangeType.DELETED));
     }
 
-    public Page<ShopDto.Response> searchShops(Long marketId, String keyword, Pageable pageable) {
+    /**
+     * 최근 7일 활동(조회·찜·리뷰) 점수가 높은 순의 상점 카드. 순위는 메모리에서 읽고 DB 는 카드 조회만 한다.
+     */
+    public List<ShopDto.Card> getTrendingShops(Long marketId, int limit) {
+        return shopCardLoader.load(trendingShops.top(marketId, Math.min(Math.max(limit, 1), TRENDING_MAX_LIMIT)));
+    }
+
+    /** 상세 조회(304 포함)를 인기 순위에 반영한다. 메모리만 고치므로 트랜잭션을 열지 않는다 */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recordView(Long marketId, Long shopId) {
+        trendingShops.record(marketId, shopId, TrendingShops.Signal.VIEW, 1);
+    }
+
+    /**
+     * 검색어 자동완성. 인메모리 트라이만 조회하므로 트랜잭션을 열지 않는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ShopDto.Suggestion> autocomplete(Long marketId, String prefix, int limit) {
+        if (!org.springframework.util.StringUtils.hasText(prefix)) return List.of();
+        return shopSearchIndex.autocomplete(marketId, prefix, Math.min(Math.max(limit, 1), AUTOCOMPLETE_MAX_LIMIT));
+    }
+
+    /**
+     * 시장 내 상점 검색. 키워드가 비어 있으면 시장 내 상점 목록(getShops)과 같다.
+     * FANOUT 은 branch 마다 커넥션을 쓰므로 바깥 트랜잭션 없이 실행한다 (어느 경로든 연관 컬렉션은 읽지 않고, 조회는 저장소 단위로 끝난다).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Page<ShopDto.Card> searchShops(Long marketId, String keyword, Pageable pageable) {
         String sanitized = SearchUtils.sanitize(keyword);
         if (sanitized == null) {
-            return shopRepository.findAll(pageable).map(this::toResponse);
+            return getShops(marketId, null, pageable);
         }
         sanitized = sanitized.replace("%", "").replace("_", "").trim();
         if (!org.springframework.util.StringUtils.hasText(sanitized)) {
-            return shopRepository.findAll(pageable).map(this::toResponse);
+            return getShops(marketId, null, pageable);
         }
+        String term = sanitized;
+        return searchResultCache.get(marketId, term, pageable, () -> searchShopsByBackend(marketId, term, pageable));
+    }
 
+    private SearchResultCache.Loaded searchShopsByBackend(Long marketId, String sanitized, Pageable pageable) {
+        // 낱자모가 섞인 입력("ㄱㅂ", "김ㅂ")은 LIKE/FULLTEXT로 찾을 수 없으므로 어떤 backend든 색인의 자모 검색을 쓴다
+        if (searchBackend == ShopSearchBackend.INDEX || Hangul.hasLooseJamo(sanitized)) {
+            return SearchResultCache.Loaded.of(searchShopsByIndex(marketId, sanitized, pageable));
+        }
+        if (searchBackend == ShopSearchBackend.FANOUT) {
+            return searchShopsByFanout(marketId, sanitized, pageable);
+        }
+        if (searchBackend == ShopSearchBackend.FULLTEXT && isFulltextSearchable(sanitized)) {
+            return SearchResultCache.Loaded.of(searchShopsByFulltext(marketId, sanitized, pageable));
+        }
+        return SearchResultCache.Loaded.of(toCardPage(shopRepository.searchInMarket(marketId, sanitized, toShopSortPageable(pageable))));
+    }
+
+    /**
+     * FULLTEXT/LIKE 갈래를 UNION 한 쿼리로 후보 ID 를 모은 뒤, 요청한 페이지의 ID 만 정렬해 골라 카드로 조회.
+     * 전체 개수는 후보 수이므로 따로 세지 않는다.
+     */
+    private Page<ShopDto.Card> searchShopsByFulltext(Long marketId, String keyword, Pageable pageable) {
+        Pageable sorted = toShopSortPageable(pageable);
+        List<Long> ids = shopRepository.findShopIdsByFulltext(marketId, keyword, toFulltextPhrase(keyword));
+        List<Long> pageIds = ids.isEmpty() ? List.of() : shopRepository.findShopIdPage(ids, sorted);
+        return new PageImpl<>(shopCardLoader.load(pageIds), sorted, ids.size());
+    }
+
+    /**
+     * 4개 하위 쿼리를 동시에 실행해 병합/정렬 후, 요청한 페이지의 상점만 카드로 다시 조회.
+     * 시간 초과된 branch 가 있으면 결과와 전체 개수가 모자라므로 캐시하지 않도록 partial 로 돌려준다.
+     */
+    private SearchResultCache.Loaded searchShopsByFanout(Long marketId, String keyword, Pageable pageable) {
         int cap = Math.max(pageable.getPageSize() * 5, 100);
         Pageable probe = PageRequest.of(0, cap);
 
-        // marketId로 먼저 필터링 후 키워드 검색
-        List<Shop> byName = shopRepository.findByMarket_MarketIdAndNameContaining(marketId, sanitized, probe).getContent();
-        List<Shop> byDesc = shopRepository.findByMarket_MarketIdAndDescriptionContaining(marketId, sanitized, probe).getContent();
-        List<Shop> byCategory = categoryRepository.findShopsByMarketIdAndCategoryNameLike(marketId, sanitized, probe).getContent();
-        List<Shop> byItem = itemRepository.findShopsByMarketIdAndItemKeyword(marketId, sanitized, probe).getContent();
+        SearchFanout.Results<Shop> results = searchFanout.run("shop", List.of(
+                new SearchFanout.Branch<>("name", () -> shopRepository.findByMarket_MarketIdAndNameContaining(marketId, keyword, probe).getContent()),
+                new SearchFanout.Branch<>("description", () -> shopRepository.findByMarket_MarketIdAndDescriptionContaining(marketId, keyword, probe).getContent()),
+                new SearchFanout.Branch<>("category", () -> categoryRepository.findShopsByMarketIdAndCategoryNameLike(marketId, keyword, probe).getContent()),
+                new SearchFanout.Branch<>("item", () -> itemRepository.findShopsByMarketIdAndItemKeyword(marketId, keyword, probe).getContent())
+        ));
 
         Map<Long, Shop> merged = new LinkedHashMap<>();
-        addAllShops(merged, byName);
-        addAllShops(merged, byDesc);
-        addAllShops(merged, byCategory);
-        addAllShops(merged, byItem);
+        results.branches().forEach(shops -> addAllShops(merged, shops));
 
         List<Shop> all = new ArrayList<>(merged.values());
         sortByPageableShop(all, pageable);
@@ -187,9 +337,28 @@ public class ShopService {
         int total = all.size();
         int start = (int) pageable.getOffset();
         int end = Math.min(start + pageable.getPageSize(), total);
-        List<Shop> slice = (start >= total) ? List.of() : all.subList(start, end);
+        List<Long> pageIds = (start >= total) ? List.of() : all.subList(start, end).stream().map(Shop::getShopId).toList();
+        Page<ShopDto.Card> page = new PageImpl<>(shopCardLoader.load(pageIds), pageable, total);
+        return results.partial() ? SearchResultCache.Loaded.partial(page) : SearchResultCache.Loaded.of(page);
+    }
+
+    /**
+     * 인메모리 색인으로 후보 선정/정렬 후, 요청한 페이지의 상점만 DB에서 조회
+     */
+    private Page<ShopDto.Card> searchShopsByIndex(Long marketId, String keyword, Pageable pageable) {
+        List<Long> ids = shopSearchIndex.search(marketId, keyword, pageable.getSort());
+
+        int total = ids.size();
+        int start = (int) pageable.getOffset();
+        int end = Math.min(start + pageable.getPageSize(), total);
+        List<Long> pageIds = (start >= total) ? List.of() : ids.subList(start, end);
+        return new PageImpl<>(shopCardLoader.load(pageIds), pageable, total);
+    }
 
-        return new PageImpl<>(slice.stream().map(this::toResponse).toList(), pageable, total);
+    /** 엔티티 페이지를 같은 순서의 카드 페이지로 변환 (엔티티의 연관 컬렉션은 읽지 않는다) */
+    private Page<ShopDto.Card> toCardPage(Page<Shop> page) {
+        List<Long> ids = page.getContent().stream().map(Shop::getShopId).toList();
+        return new PageImpl<>(shopCardLoader.load(ids), page.getPageable(), page.getTotalElements());
     }
 
 
@@ -198,15 +367,33 @@ public class ShopService {
 //        return toResponse(shop);
 //    }
 
-    /** 엔티티→DTO 변환 */
+    /** 엔티티→DTO 변환 (찜 수는 이 인스턴스의 미반영분까지 더한 값) */
     private ShopDto.Response toResponse(Shop shop) {
+        return withPendingFavorites(toPersistedResponse(shop));
+    }
+
+    /** 캐시 응답의 찜 수(DB 저장값)에 미반영분을 더한 사본. 캐시에 든 객체는 고치지 않는다 */
+    private ShopDto.Response withPendingFavorites(ShopDto.Response persisted) {
+        return persisted.toBuilder()
+                .favoriteCount(favoriteCounter.current(persisted.getShopId(), persisted.getFavoriteCount()))
+                .build();
+    }
+
+    /** 엔티티→DTO 변환. 찜 수는 DB 에 저장된 값이라 인스턴스와 무관하게 같은 내용이 되므로 공유 캐시에 넣을 수 있다 */
+    private ShopDto.Response toPersistedResponse(Shop shop) {
+        // 상품 이미지는 상품마다 컬렉션을 초기화하지 않고 한 번에 읽는다
+        Map<Long, List<String>> itemImageUrls = imageUrlBatchLoader.itemImageUrls(
+                shop.getItems().stream().map(Item::getItemId).toList());
         var itemDtos = shop.getItems().stream().map(item ->
                 ItemDto.Response.builder()
                         .itemId(item.getItemId()).shopId(shop.getShopId())
                         .name(item.getName()).price(item.getPrice())
                         .category(item.getCategory()).description(item.getDescription())
                         .createdAt(item.getCreatedAt())
-                        .imageUrls(item.getImages().stream().map(ItemImage::getUrl).toList())
+                        .imageUrls(itemImageUrls.getOrDefault(item.getItemId(), List.of()))
+                        .ratingAverage(RatingStats.round(item.getRating().getAverage()))
+                        .ratingCount(item.getRating().getCount())
+                        .ratingHistogram(item.getRating().histogram())
                         .build()
         ).toList();
 
@@ -219,7 +406,10 @@ public class ShopService {
                 .address(shop.getAddress()).phoneNumber(shop.getPhoneNumber()).openingHours(shop.getOpeningHours())
                 .floor(shop.getFloor()).latitude(shop.getLatitude()).longitude(shop.getLongitude())
                 .description(shop.getDescription()).createdAt(shop.getCreatedAt())
-                .favoriteCount(shop.getFavoriteCount())
+                .favoriteCount(shop.getFavoriteCount() == null ? 0L : shop.getFavoriteCount())
+                .ratingAverage(RatingStats.round(shop.getRating().getAverage()))
+                .ratingCount(shop.getRating().getCount())
+                .ratingHistogram(shop.getRating().histogram())
                 .items(itemDtos).categories(categoryDtos)
                 .imageUrls(shop.getImages().stream().map(ShopImage::getUrl).toList())
                 .build();
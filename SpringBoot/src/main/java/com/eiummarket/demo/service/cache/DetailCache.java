@@ -0,0 +1,295 @@
+package com.eiummarket.demo.service.cache;
+
+import com.eiummarket.demo.dto.ItemDto;
+import com.eiummarket.demo.dto.MarketDto;
+import com.eiummarket.demo.dto.ShopDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 상점 상세 / 시장 상세 / 상점 상품 목록의 2단 read-through 캐시.
+ * L1 은 인스턴스 로컬 Caffeine(역직렬화된 객체), L2 는 인스턴스가 공유하는 Redis(CBOR)이다.
+ *
+ * 항목마다 만들 때의 검증 토큰(ETag 와 같은 버전 문자열)을 함께 저장하고, 읽을 때 현재 토큰과 다르면 미스로 본다.
+ * 그래서 쓰기 경로의 명시적 삭제가 커밋 직전·직후 어느 쪽에 일어나도 옛 응답이 새 버전으로 나가지 않는다.
+ * 삭제는 Redis pub/sub 으로 모든 인스턴스에 알려 L1 을 비우고, 메시지를 놓친 L1 항목은 cache.l1.ttl 안에 사라진다.
+ * Redis 가 실패하거나 느리면 cache.redis.retry-after 동안 L2 를 건너뛰고 DB 에서 바로 만든다 (L1 은 계속 쓴다).
+ * L1 미스 이후(L2 조회와 DB 조회)는 {@link SingleFlight} 로 키·토큰별 하나만 실행해, 만료 직후 몰린 요청이 한 번만 DB 에 간다.
+ * 요청 결과는 detail.cache.requests{kind, result=l1_hit|l2_hit|miss}, L1 상태는 cache.* (cache=detailL1) 지표로 노출된다.
+ * L1 은 같은 객체를 돌려주므로 호출자는 반환값을 고치면 안 된다.
+ */
+@Slf4j
+@Component
+public class DetailCache {
+
+    /** 캐시 항목. DTO 구조가 바뀌면 KEY_PREFIX 의 버전을 올린다 */
+    record Entry<T>(String token, T value) {}
+
+    /** Page 는 그대로 역직렬화되지 않으므로 내용과 전체 개수만 저장한다 */
+    record PageBody<T>(List<T> content, long total) {}
+
+    private static final String KEY_PREFIX = "eium:detail:v2:";
+
+    /** 삭제 알림 채널. 메시지는 줄바꿈으로 구분한 Redis 키 목록 */
+    static final String INVALIDATION_CHANNEL = "eium:detail:invalidate";
+
+    private static final ObjectMapper MAPPER = CBORMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private static final JavaType SHOP_TYPE = entryOf(MAPPER.constructType(ShopDto.Response.class));
+    private static final JavaType MARKET_TYPE = entryOf(MAPPER.constructType(MarketDto.Response.class));
+    private static final JavaType ITEMS_TYPE = entryOf(MAPPER.getTypeFactory()
+            .constructParametricType(PageBody.class, ItemDto.Response.class));
+
+    private final ReactiveRedisTemplate<String, byte[]> redis;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight singleFlight;
+    /** Redis 키(해시면 "키#필드") → 항목 */
+    private final Cache<String, Entry<?>> local;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private final Duration shopTtl;
+    private final Duration marketTtl;
+    private final Duration itemsTtl;
+
+    /** 이 시각(System.nanoTime)까지는 Redis 를 건너뛴다 */
+    private volatile long skipUntil = System.nanoTime();
+    private Disposable invalidations;
+    /** 삭제 알림 채널을 구독 중인지. 끊긴 동안 놓친 알림은 L1 TTL 이 정리한다 */
+    private volatile boolean listening;
+
+    public DetailCache(ReactiveRedisTemplate<String, byte[]> detailCacheRedisTemplate,
+                       MeterRegistry meterRegistry,
+                       SingleFlight singleFlight,
+                       @Value("${cache.redis.enabled:true}") boolean enabled,
+                       @Value("${cache.redis.timeout:200ms}") Duration timeout,
+                       @Value("${cache.redis.retry-after:30s}") Duration retryAfter,
+                       @Value("${cache.redis.ttl.shop:10m}") Duration shopTtl,
+                       @Value("${cache.redis.ttl.market:30m}") Duration marketTtl,
+                       @Value("${cache.redis.ttl.items:10m}") Duration itemsTtl,
+                       @Value("${cache.l1.max-size:10000}") long localMaxSize,
+                       @Value("${cache.l1.ttl:30s}") Duration localTtl) {
+        this.redis = detailCacheRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.singleFlight = singleFlight;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "detailL1");
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.retryAfter = retryAfter;
+        this.shopTtl = shopTtl;
+        this.marketTtl = marketTtl;
+        this.itemsTtl = itemsTtl;
+    }
+
+    /** 다른 인스턴스의 삭제 알림을 받아 L1 을 비운다. 연결이 끊기면 retry-after 간격으로 다시 구독한다 */
+    @PostConstruct
+    public void startListening() {
+        if (!enabled) return;
+        // 구독 준비 중 연결 실패가 호출 스레드로 던져지지 않도록 defer 로 감싸 재시도에 맡긴다
+        invalidations = Mono.defer(() -> redis.listenToChannelLater(INVALIDATION_CHANNEL))
+                .doOnNext(messages -> listening = true)
+                .flatMapMany(messages -> messages)
+                .doOnError(e -> listening = false)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(retryAfter))
+                .subscribe(message -> {
+                    for (String key : new String(message.getMessage(), StandardCharsets.UTF_8).split("\n")) {
+                        evictLocal(key);
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        if (invalidations != null) invalidations.dispose();
+        listening = false;
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    public ShopDto.Response shop(Long shopId, String token, Supplier<ShopDto.Response> loader) {
+        return read("shop", shopKey(shopId), null, token, SHOP_TYPE, shopTtl, loader);
+    }
+
+    public MarketDto.Response market(Long marketId, String token, Supplier<MarketDto.Response> loader) {
+        return read("market", marketKey(marketId), null, token, MARKET_TYPE, marketTtl, loader);
+    }
+
+    /** 상점 상품 목록. 상점 하나의 모든 페이지를 해시 하나에 담아 한 번에 지울 수 있게 한다 */
+    public Page<ItemDto.Response> items(Long shopId, Pageable pageable, String token,
+                                        Supplier<Page<ItemDto.Response>> loader) {
+        if (pageable.isUnpaged()) return loader.get();
+        String field = pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+        PageBody<ItemDto.Response> body = read("items", itemsKey(shopId), field, token, ITEMS_TYPE, itemsTtl, () -> {
+            Page<ItemDto.Response> page = loader.get();
+            return new PageBody<>(page.getContent(), page.getTotalElements());
+        });
+        return new PageImpl<>(body.content(), pageable, body.total());
+    }
+
+    /** 상점 상세와 상품 목록을 지운다 (상점·상품·이미지 변경 시) */
+    public void evictShop(Long shopId) {
+        evict(shopKey(shopId), itemsKey(shopId));
+    }
+
+    public void evictMarket(Long marketId) {
+        evict(marketKey(marketId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(String kind, String key, String field, String token, JavaType type,
+                       Duration ttl, Supplier<T> loader) {
+        String localKey = (field == null) ? key : key + "#" + field;
+        Entry<T> entry = (Entry<T>) local.getIfPresent(localKey);
+        if (entry != null && token.equals(entry.token())) {
+            count(kind, "l1_hit");
+            return entry.value();
+        }
+        return singleFlight.execute("detail." + kind, localKey + "@" + token,
+                () -> load(kind, key, field, localKey, token, type, ttl, loader));
+    }
+
+    /** L1 미스일 때: L2 를 보고, 없으면 loader 로 만들어 두 단에 저장한다 */
+    private <T> T load(String kind, String key, String field, String localKey, String token, JavaType type,
+                       Duration ttl, Supplier<T> loader) {
+        Entry<T> entry;
+        if (available()) {
+            entry = decode(fetch(key, field), type);
+            if (entry != null && token.equals(entry.token())) {
+                local.put(localKey, entry);
+                count(kind, "l2_hit");
+                return entry.value();
+            }
+        }
+        count(kind, "miss");
+        entry = new Entry<>(token, loader.get());
+        local.put(localKey, entry);
+        if (available()) store(key, field, entry, ttl);
+        return entry.value();
+    }
+
+    private byte[] fetch(String key, String field) {
+        Mono<byte[]> op = (field == null)
+                ? redis.opsForValue().get(key)
+                : redis.<String, byte[]>opsForHash().get(key, field);
+        return op.timeout(timeout)
+                .onErrorResume(e -> {
+                    trip(e);
+                    return Mono.empty();
+                })
+                .block();
+    }
+
+    /** 응답을 기다리지 않고 저장한다 */
+    private void store(String key, String field, Entry<?> entry, Duration ttl) {
+        byte[] bytes;
+        try {
+            bytes = MAPPER.writeValueAsBytes(entry);
+        } catch (IOException e) {
+            log.warn("상세 캐시 직렬화 실패 key={}", key, e);
+            return;
+        }
+        Mono<Boolean> op = (field == null)
+                ? redis.opsForValue().set(key, bytes, ttl)
+                : redis.<String, byte[]>opsForHash().put(key, field, bytes).then(redis.expire(key, ttl));
+        op.timeout(timeout).subscribe(ok -> {}, this::trip);
+    }
+
+    /** L1 은 바로 비우고, Redis 에서 지운 뒤 다른 인스턴스에 알린다 */
+    private void evict(String... keys) {
+        for (String key : keys) evictLocal(key);
+        if (!available()) return;
+        byte[] message = String.join("\n", keys).getBytes(StandardCharsets.UTF_8);
+        redis.delete(keys)
+                .then(redis.convertAndSend(INVALIDATION_CHANNEL, message))
+                .timeout(timeout)
+                .subscribe(n -> {}, this::trip);
+    }
+
+    /** 키 자체와, 해시 키라면 그 아래 필드 항목들까지 L1 에서 지운다 */
+    private void evictLocal(String key) {
+        String fieldPrefix = key + "#";
+        local.asMap().keySet().removeIf(k -> k.equals(key) || k.startsWith(fieldPrefix));
+    }
+
+    /** 테스트용: L1 항목 수 */
+    long localSize() {
+        local.cleanUp();
+        return local.estimatedSize();
+    }
+
+    private <T> Entry<T> decode(byte[] bytes, JavaType type) {
+        if (bytes == null) return null;
+        try {
+            return MAPPER.readValue(bytes, type);
+        } catch (IOException e) {
+            // 깨졌거나 예전 형식이면 미스로 보고 다시 저장한다
+            log.debug("상세 캐시 역직렬화 실패", e);
+            return null;
+        }
+    }
+
+    private boolean available() {
+        return enabled && System.nanoTime() - skipUntil >= 0;
+    }
+
+    private void trip(Throwable e) {
+        if (available()) {
+            log.warn("Redis 상세 캐시를 {}초 동안 건너뜁니다: {}", retryAfter.toSeconds(), e.toString());
+        }
+        skipUntil = System.nanoTime() + retryAfter.toNanos();
+    }
+
+    private void count(String kind, String result) {
+        meterRegistry.counter("detail.cache.requests", "kind", kind, "result", result).increment();
+    }
+
+    private static JavaType entryOf(JavaType valueType) {
+        return MAPPER.getTypeFactory().constructParametricType(Entry.class, valueType);
+    }
+
+    static String shopKey(Long shopId) {
+        return KEY_PREFIX + "shop:" + shopId;
+    }
+
+    private static String marketKey(Long marketId) {
+        return KEY_PREFIX + "market:" + marketId;
+    }
+
+    private static String itemsKey(Long shopId) {
+        return KEY_PREFIX + "items:" + shopId;
+    }
+}
@@ -0,0 +1,75 @@
+package com.eiummarket.demo.service.cache;
+
+import com.eiummarket.demo.event.CategoryChangedEvent;
+import com.eiummarket.demo.event.ChangeType;
+import com.eiummarket.demo.event.MarketChangedEvent;
+import com.eiummarket.demo.event.ShopChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 오프셋 목록 페이지의 전체 개수 캐시. 페이지를 넘길 때마다 COUNT(*) 를 다시 세지 않도록 listing.count.ttl 동안 재사용한다.
+ * 커밋된 시장·상점·카테고리 변경 때 해당 범위를 비우지만 다른 인스턴스에는 전파하지 않으므로, TTL 동안은 근사값일 수 있다.
+ */
+@Component
+public class ListingCounts {
+
+    private static final String MARKETS = "markets";
+
+    private final Cache<String, Long> counts;
+
+    public ListingCounts(MeterRegistry meterRegistry,
+                         @Value("${listing.count.ttl:60s}") Duration ttl,
+                         @Value("${listing.count.max-size:10000}") long maxSize) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "listingCounts");
+    }
+
+    public long markets(LongSupplier counter) {
+        return counts.get(MARKETS, k -> counter.getAsLong());
+    }
+
+    /** categoryId 가 null 이면 시장 전체 상점 수 */
+    public long shops(Long marketId, Long categoryId, LongSupplier counter) {
+        return counts.get(shopPrefix(marketId) + categoryId, k -> counter.getAsLong());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMarketChanged(MarketChangedEvent event) {
+        if (event.getType() == ChangeType.UPDATED) return;
+        counts.invalidate(MARKETS);
+        evictShops(event.getMarketId());
+    }
+
+    /** 수정으로 카테고리 연결이 바뀔 수 있으므로 종류와 관계없이 비운다 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShopChanged(ShopChangedEvent event) {
+        evictShops(event.getMarketId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        event.getAffectedShops().keySet().forEach(this::evictShops);
+    }
+
+    private void evictShops(Long marketId) {
+        String prefix = shopPrefix(marketId);
+        counts.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private static String shopPrefix(Long marketId) {
+        return "shops:" + marketId + ":";
+    }
+}
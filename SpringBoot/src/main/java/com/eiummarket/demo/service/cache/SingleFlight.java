@@ -0,0 +1,85 @@
+package com.eiummarket.demo.service.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 읽기를 하나의 계산으로 합친다 (캐시 만료 직후 몰리는 DB 조회 방지).
+ *
+ * 먼저 온 요청(leader)이 자기 스레드·트랜잭션에서 loader 를 실행하고, 그동안 온 요청은 그 결과를 기다려 같은 객체를 받는다.
+ * leader 의 예외는 기다리던 요청에도 그대로 던져진다.
+ * cache.single-flight.timeout 안에 끝나지 않으면 기다리던 요청은 직접 loader 를 실행한다.
+ * 결과는 single.flight.requests{name, result=leader|shared|timeout} 지표로 노출된다.
+ * 키에는 결과를 구분하는 값(버전 토큰 등)을 모두 넣어야 한다. 계산이 끝나면 바로 지우므로 결과를 저장하지는 않는다.
+ */
+@Slf4j
+@Component
+public class SingleFlight {
+
+    private record Flight(Thread leader, CompletableFuture<Object> result) {}
+
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${cache.single-flight.timeout:3s}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, String key, Supplier<T> loader) {
+        String flightKey = name + ":" + key;
+        Flight mine = new Flight(Thread.currentThread(), new CompletableFuture<>());
+        Flight running = inFlight.putIfAbsent(flightKey, mine);
+
+        if (running == null) {
+            count(name, "leader");
+            try {
+                T value = loader.get();
+                mine.result().complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                mine.result().completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(flightKey, mine);
+            }
+        }
+        // loader 안에서 같은 키를 다시 부르면 자기 결과를 기다리게 되므로 그냥 실행한다
+        if (running.leader() == Thread.currentThread()) return loader.get();
+
+        try {
+            T value = (T) running.result().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            count(name, "shared");
+            return value;
+        } catch (TimeoutException e) {
+            count(name, "timeout");
+            log.warn("single-flight {} 대기 {}ms 초과, 직접 조회합니다: {}", name, timeout.toMillis(), key);
+            return loader.get();
+        } catch (ExecutionException e) {
+            count(name, "shared");
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException("single-flight 조회 실패: " + name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("single-flight 대기 중 인터럽트: " + name, e);
+        }
+    }
+
+    private void count(String name, String result) {
+        meterRegistry.counter("single.flight.requests", "name", name, "result", result).increment();
+    }
+}
@@ -0,0 +1,38 @@
+package com.eiummarket.demo.service.geo;
+
+import com.eiummarket.demo.event.ChangeType;
+import com.eiummarket.demo.event.MarketChangedEvent;
+import com.eiummarket.demo.event.ShopChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 커밋된 시장 변경을 좌표 색인에 반영하고, 시장/상점 변경 시 지도 묶음 캐시를 비운다.
+ * 커밋 이후에는 원래 트랜잭션에 참여할 수 없으므로 DB 재조회는 새 읽기 전용 트랜잭션에서 수행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GeoIndexEventListener {
+
+    private final MarketGeoIndex marketGeoIndex;
+    private final MapClusterIndex mapClusterIndex;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onMarketChanged(MarketChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            marketGeoIndex.removeMarket(event.getMarketId());
+        } else {
+            marketGeoIndex.upsertMarket(event.getMarketId());
+        }
+        mapClusterIndex.invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShopChanged(ShopChangedEvent event) {
+        mapClusterIndex.invalidate();
+    }
+}
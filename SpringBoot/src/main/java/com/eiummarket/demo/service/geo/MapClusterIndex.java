@@ -0,0 +1,158 @@
+package com.eiummarket.demo.service.geo;
+
+import com.eiummarket.demo.dto.MapDto;
+import com.eiummarket.demo.repository.MarketRepository;
+import com.eiummarket.demo.repository.ShopRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 지도 화면용 시장/상점 격자 묶음(grid clustering).
+ * 줌 레벨마다 타일 한 변을 map.cluster.cells-per-tile 칸으로 나눈 격자에 좌표를 모아 두고 줌별로 캐시한다.
+ * 조회는 화면 영역과 겹치는 칸만 읽으므로 축소된 지도에서도 응답 크기가 칸 수로 제한된다.
+ * 시장/상점 변경이 커밋되면 {@link GeoIndexEventListener}가 캐시 전체를 비우고 다음 조회 때 다시 계산한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MapClusterIndex {
+
+    public static final int MAX_ZOOM = 20;
+
+    private record Point(Long marketId, Long shopId, double latitude, double longitude) {}
+
+    /** 줌 하나의 격자. key 는 row * columns + col */
+    private record Level(long generation, double cellDeg, int columns, Map<Long, MapDto.Cluster> cells) {}
+
+    private record Snapshot(long generation, List<Point> points) {}
+
+    private final MarketRepository marketRepository;
+    private final ShopRepository shopRepository;
+
+    @Value("${map.cluster.cells-per-tile:4}")
+    private int cellsPerTile;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+    private final ConcurrentMap<Integer, Level> levels = new ConcurrentHashMap<>();
+
+    /** 경계 상자(남서~북동)와 겹치는 칸의 묶음을 반환 */
+    public List<MapDto.Cluster> clusters(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        Level level = level(zoom);
+        long minRow = row(level, minLat), maxRow = row(level, maxLat);
+        long minCol = col(level, minLng), maxCol = col(level, maxLng);
+
+        List<MapDto.Cluster> result = new ArrayList<>();
+        long cellsInBox = (maxRow - minRow + 1) * (maxCol - minCol + 1);
+        if (cellsInBox <= level.cells().size()) {
+            for (long r = minRow; r <= maxRow; r++) {
+                for (long c = minCol; c <= maxCol; c++) {
+                    MapDto.Cluster cluster = level.cells().get(r * level.columns() + c);
+                    if (cluster != null) result.add(cluster);
+                }
+            }
+        } else {
+            // 화면이 채워진 칸 수보다 넓으면 칸 목록을 직접 훑는다
+            level.cells().forEach((key, cluster) -> {
+                long r = key / level.columns(), c = key % level.columns();
+                if (r >= minRow && r <= maxRow && c >= minCol && c <= maxCol) result.add(cluster);
+            });
+        }
+        return result;
+    }
+
+    /**
+     * 좌표가 바뀌었을 수 있으므로 세대를 올려 적재한 좌표와 줌별 묶음을 모두 무효화한다.
+     * 캐시 항목은 만들 때의 세대를 들고 있어, 무효화와 겹쳐 저장된 낡은 항목도 다음 조회에서 버려진다.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+        levels.clear();
+    }
+
+    private Level level(int zoom) {
+        long current = generation.get();
+        Level level = levels.get(zoom);
+        if (level != null && level.generation() == current) return level;
+
+        Level built = build(zoom, points(current), current);
+        levels.merge(zoom, built, (old, mine) -> old.generation() >= mine.generation() ? old : mine);
+        return built;
+    }
+
+    private Level build(int zoom, List<Point> points, long generation) {
+        double cellDeg = 360.0 / ((1L << zoom) * cellsPerTile);
+        int columns = (int) Math.ceil(360.0 / cellDeg);
+
+        Map<Long, List<Point>> grouped = new HashMap<>();
+        for (Point point : points) {
+            long key = (long) Math.floor((point.latitude() + 90.0) / cellDeg) * columns
+                    + Math.min((long) Math.floor((point.longitude() + 180.0) / cellDeg), columns - 1);
+            grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(point);
+        }
+
+        Map<Long, MapDto.Cluster> cells = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((key, group) -> cells.put(key, toCluster(group)));
+        return new Level(generation, cellDeg, columns, cells);
+    }
+
+    private static MapDto.Cluster toCluster(List<Point> group) {
+        if (group.size() == 1) {
+            Point p = group.get(0);
+            return MapDto.Cluster.builder()
+                    .type(p.shopId() == null ? "MARKET" : "SHOP")
+                    .latitude(p.latitude())
+                    .longitude(p.longitude())
+                    .marketCount(p.shopId() == null ? 1 : 0)
+                    .shopCount(p.shopId() == null ? 0 : 1)
+                    .marketId(p.marketId())
+                    .shopId(p.shopId())
+                    .build();
+        }
+        double lat = 0, lng = 0;
+        int markets = 0;
+        for (Point p : group) {
+            lat += p.latitude();
+            lng += p.longitude();
+            if (p.shopId() == null) markets++;
+        }
+        return MapDto.Cluster.builder()
+                .type("CLUSTER")
+                .latitude(lat / group.size())
+                .longitude(lng / group.size())
+                .marketCount(markets)
+                .shopCount(group.size() - markets)
+                .build();
+    }
+
+    private List<Point> points(long current) {
+        Snapshot loaded = snapshot;
+        if (loaded != null && loaded.generation() == current) return loaded.points();
+
+        List<Point> result = new ArrayList<>();
+        for (Object[] row : marketRepository.findAllMarketCoordinates()) {
+            result.add(new Point((Long) row[0], null, ((BigDecimal) row[1]).doubleValue(), ((BigDecimal) row[2]).doubleValue()));
+        }
+        for (Object[] row : shopRepository.findAllShopCoordinates()) {
+            result.add(new Point((Long) row[1], (Long) row[0], ((BigDecimal) row[2]).doubleValue(), ((BigDecimal) row[3]).doubleValue()));
+        }
+        result = List.copyOf(result);
+        snapshot = new Snapshot(current, result);
+        return result;
+    }
+
+    private static long row(Level level, double lat) {
+        return (long) Math.floor((Math.max(-90.0, Math.min(90.0, lat)) + 90.0) / level.cellDeg());
+    }
+
+    private static long col(Level level, double lng) {
+        return Math.min((long) Math.floor((Math.max(-180.0, Math.min(180.0, lng)) + 180.0) / level.cellDeg()), level.columns() - 1);
+    }
+}
@@ -0,0 +1,201 @@
+package com.eiummarket.demo.service.geo;
+
+import com.eiummarket.demo.model.Market;
+import com.eiummarket.demo.repository.MarketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 시장 좌표의 인메모리 격자(grid) 색인.
+ * 위경도를 고정 크기(geo.market.cell-deg) 칸으로 나눠 칸마다 시장 좌표(double)를 보관하고,
+ * 반경 검색은 반경을 덮는 칸만 훑어 하버사인 거리로 거른다.
+ * 처음 조회할 때 DB에서 좌표만 읽어 만들고, 이후 변경은 {@link GeoIndexEventListener}가 시장 단위로 반영한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MarketGeoIndex {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    static final double KM_PER_DEGREE_LAT = 111.32;
+
+    /** 색인된 시장 좌표 */
+    public record Point(Long marketId, double latitude, double longitude) {}
+
+    /** 반경 검색 결과 */
+    public record Hit(Long marketId, double distanceKm) {}
+
+    private final MarketRepository marketRepository;
+
+    @Value("${geo.market.cell-deg:0.05}")
+    private double cellDeg;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong generation = new AtomicLong();
+    private Map<Long, List<Point>> cells;
+    private Map<Long, Point> points;
+
+    /**
+     * 중심에서 radiusKm 이내의 시장을 가까운 순으로 최대 limit 개 반환.
+     */
+    public List<Hit> nearby(double lat, double lng, double radiusKm, int limit) {
+        double dLat = radiusKm / KM_PER_DEGREE_LAT;
+        double dLng = radiusKm / (KM_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+
+        // 가장 먼 후보가 맨 앞에 오는 크기 limit 의 힙
+        PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::distanceKm).reversed());
+        forEachInBox(lat - dLat, lng - dLng, lat + dLat, lng + dLng, point -> {
+            double distance = distanceKm(lat, lng, point.latitude(), point.longitude());
+            if (distance > radiusKm) return;
+            if (top.size() < limit) {
+                top.add(new Hit(point.marketId(), distance));
+            } else if (distance < top.peek().distanceKm()) {
+                top.poll();
+                top.add(new Hit(point.marketId(), distance));
+            }
+        });
+
+        List<Hit> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparing(Hit::marketId));
+        return result;
+    }
+
+    /** 경계 상자(남서~북동)와 겹치는 칸의 좌표 중 상자 안에 있는 것만 전달 */
+    public void forEachInBox(double minLat, double minLng, double maxLat, double maxLng, Consumer<Point> consumer) {
+        ensureBuilt();
+        minLat = Math.max(minLat, -90.0);
+        maxLat = Math.min(maxLat, 90.0);
+        int columns = columns();
+        long minRow = row(minLat), maxRow = row(maxLat);
+        long minCol = (long) Math.floor((minLng + 180.0) / cellDeg);
+        long maxCol = (long) Math.floor((maxLng + 180.0) / cellDeg);
+        if (maxCol - minCol + 1 >= columns) {
+            minCol = 0;
+            maxCol = columns - 1;
+        }
+
+        lock.readLock().lock();
+        try {
+            for (long r = minRow; r <= maxRow; r++) {
+                for (long c = minCol; c <= maxCol; c++) {
+                    List<Point> cell = cells.get(r * columns + Math.floorMod(c, columns));
+                    if (cell == null) continue;
+                    for (Point point : cell) {
+                        if (point.latitude() >= minLat && point.latitude() <= maxLat && inLngRange(point.longitude(), minLng, maxLng)) {
+                            consumer.accept(point);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 시장 좌표 하나를 DB에서 다시 읽어 교체 (아직 빌드 전이면 다음 조회 때 반영) */
+    public void upsertMarket(Long marketId) {
+        generation.incrementAndGet();
+        Optional<Market> market = marketRepository.findById(marketId);
+        lock.writeLock().lock();
+        try {
+            if (cells == null) return;
+            removeInternal(marketId);
+            market.map(m -> toPoint(m.getMarketId(), m.getLatitude(), m.getLongitude())).ifPresent(this::putInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeMarket(Long marketId) {
+        generation.incrementAndGet();
+        lock.writeLock().lock();
+        try {
+            if (cells != null) removeInternal(marketId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void ensureBuilt() {
+        lock.readLock().lock();
+        try {
+            if (cells != null) return;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // 빌드 도중 변경이 커밋되면 세대가 바뀌므로 다시 빌드한다
+        while (true) {
+            long before = generation.get();
+            List<Point> loaded = new ArrayList<>();
+            for (Object[] row : marketRepository.findAllMarketCoordinates()) {
+                Point point = toPoint((Long) row[0], (BigDecimal) row[1], (BigDecimal) row[2]);
+                if (point != null) loaded.add(point);
+            }
+            lock.writeLock().lock();
+            try {
+                if (cells != null) return;
+                if (generation.get() != before) continue;
+                cells = new HashMap<>();
+                points = new HashMap<>();
+                loaded.forEach(this::putInternal);
+                return;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void putInternal(Point point) {
+        points.put(point.marketId(), point);
+        cells.computeIfAbsent(cellKey(point.latitude(), point.longitude()), k -> new ArrayList<>()).add(point);
+    }
+
+    private void removeInternal(Long marketId) {
+        Point old = points.remove(marketId);
+        if (old == null) return;
+        long key = cellKey(old.latitude(), old.longitude());
+        List<Point> cell = cells.get(key);
+        if (cell != null && cell.remove(old) && cell.isEmpty()) cells.remove(key);
+    }
+
+    private long cellKey(double lat, double lng) {
+        int columns = columns();
+        return row(lat) * columns + Math.floorMod((long) Math.floor((lng + 180.0) / cellDeg), columns);
+    }
+
+    private long row(double lat) {
+        return (long) Math.floor((lat + 90.0) / cellDeg);
+    }
+
+    private int columns() {
+        return (int) Math.ceil(360.0 / cellDeg);
+    }
+
+    /** 경도 범위가 ±180 을 넘어가면 반대편으로 감아서 비교 */
+    private static boolean inLngRange(double lng, double minLng, double maxLng) {
+        if (maxLng - minLng >= 360.0) return true;
+        double offset = ((lng - minLng) % 360.0 + 360.0) % 360.0;
+        return offset <= maxLng - minLng;
+    }
+
+    private static Point toPoint(Long marketId, BigDecimal lat, BigDecimal lng) {
+        if (lat == null || lng == null) return null;
+        return new Point(marketId, lat.doubleValue(), lng.doubleValue());
+    }
+}
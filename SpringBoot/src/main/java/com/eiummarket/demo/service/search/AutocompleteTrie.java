@@ -0,0 +1,130 @@
+package com.eiummarket.demo.service.search;
+
+import java.util.*;
+
+/**
+ * 시장 하나의 자동완성용 접두어 트라이 (불변 스냅샷).
+ * 상점명/카테고리명/상품명과 그 안의 각 단어 시작 위치를 키로 넣고,
+ * 노드마다 찜 수 상위 후보를 미리 잘라 두어 조회는 접두어 길이만큼의 탐색으로 끝난다.
+ * 노드 자식은 정렬된 char 배열 + 이진 탐색으로 보관한다.
+ */
+final class AutocompleteTrie {
+
+    /** 노드당 보관하는 후보 수. 조회 시 현재 찜 수로 다시 정렬하므로 요청 limit 보다 넉넉히 둔다 */
+    static final int CANDIDATES_PER_NODE = 32;
+
+    /** 같은 문구(예: 흔한 카테고리명)가 후보를 독점하지 않도록 문구당 남기는 상점 수 */
+    static final int SHOPS_PER_TEXT = 4;
+
+    static final List<SearchField> FIELDS = List.of(SearchField.NAME, SearchField.CATEGORY, SearchField.ITEM_NAME);
+
+    record Entry(String text, SearchField field, ShopDoc doc) {}
+
+    private static final class Node {
+        final char[] keys;
+        final Node[] children;
+        final Entry[] top;
+
+        Node(char[] keys, Node[] children, Entry[] top) {
+            this.keys = keys;
+            this.children = children;
+            this.top = top;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : children[i];
+        }
+    }
+
+    private final Node root;
+
+    private AutocompleteTrie(Node root) {
+        this.root = root;
+    }
+
+    static AutocompleteTrie build(Collection<ShopDoc> docs) {
+        BuildNode root = new BuildNode();
+        for (ShopDoc doc : docs) {
+            for (SearchField field : FIELDS) {
+                for (String text : doc.fields.getOrDefault(field, List.of())) {
+                    Entry entry = new Entry(field == SearchField.NAME ? doc.name : text, field, doc);
+                    for (int start : wordStarts(text)) {
+                        root.insert(text, start, entry);
+                    }
+                }
+            }
+        }
+        return new AutocompleteTrie(root.freeze());
+    }
+
+    /**
+     * 접두어에 해당하는 제안을 현재 찜 수 내림차순으로 최대 limit 개 반환.
+     * 같은 (출처, 문구) 제안은 찜 수가 가장 큰 상점 하나로 합친다.
+     */
+    List<Entry> suggest(String normalizedPrefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < normalizedPrefix.length() && node != null; i++) {
+            node = node.child(normalizedPrefix.charAt(i));
+        }
+        if (node == null) return List.of();
+
+        Entry[] candidates = node.top.clone();
+        Arrays.sort(candidates, BY_WEIGHT);
+        List<Entry> result = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        for (Entry entry : candidates) {
+            if (result.size() >= limit) break;
+            if (seen.add(entry.field() + ":" + entry.text())) result.add(entry);
+        }
+        return result;
+    }
+
+    private static final Comparator<Entry> BY_WEIGHT = Comparator
+            .comparingLong((Entry e) -> e.doc().favoriteCount).reversed()
+            .thenComparing(Entry::field)
+            .thenComparing(Entry::text)
+            .thenComparing(e -> e.doc().shopId);
+
+    /** 문자열 처음과 공백 다음 글자의 위치 */
+    private static List<Integer> wordStarts(String text) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i)) && (i == 0 || Character.isWhitespace(text.charAt(i - 1)))) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    private static final class BuildNode {
+        final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        final List<Entry> entries = new ArrayList<>();
+
+        void insert(String text, int start, Entry entry) {
+            BuildNode node = this;
+            for (int i = start; i < text.length(); i++) {
+                node = node.children.computeIfAbsent(text.charAt(i), c -> new BuildNode());
+                node.entries.add(entry);
+            }
+        }
+
+        Node freeze() {
+            char[] keys = new char[children.size()];
+            Node[] frozen = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, BuildNode> child : children.entrySet()) {
+                keys[i] = child.getKey();
+                frozen[i++] = child.getValue().freeze();
+            }
+            Map<String, Integer> perText = new HashMap<>();
+            Entry[] top = entries.stream()
+                    .distinct()
+                    .sorted(BY_WEIGHT)
+                    .filter(e -> perText.merge(e.field() + ":" + e.text(), 1, Integer::sum) <= SHOPS_PER_TEXT)
+                    .limit(CANDIDATES_PER_NODE)
+                    .toArray(Entry[]::new);
+            return new Node(keys, frozen, top);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.eiummarket.demo.service.search;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 필드 가중치를 주는 BM25(BM25F) 계산식.
+ * 용어는 검색 색인과 같은 bigram 단위이다.
+ */
+public final class Bm25 {
+    private Bm25() {}
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    static double idf(int docCount, int docFreq) {
+        return Math.log(1.0 + (docCount - docFreq + 0.5) / (docFreq + 0.5));
+    }
+
+    /** 필드 길이로 정규화한 가중 tf */
+    static double fieldWeight(int termFreq, int fieldLength, double avgFieldLength, double boost) {
+        if (termFreq == 0) return 0.0;
+        double norm = 1.0 - B + B * (avgFieldLength <= 0 ? 1.0 : fieldLength / avgFieldLength);
+        return boost * termFreq / norm;
+    }
+
+    static double saturate(double weightedTf) {
+        return weightedTf / (K1 + weightedTf);
+    }
+
+    /** 점수 계산에 쓰는 말뭉치 통계. 필드는 점수화할 때 넘기는 fields 와 같은 순서이다 */
+    interface Corpus {
+        int docCount();
+
+        int docFreq(String term);
+
+        double avgLength(int field);
+    }
+
+    /**
+     * 색인이 없는 소규모 후보 집합을 후보 자체의 통계로 점수화한다.
+     * fields 와 boosts 는 같은 순서여야 한다.
+     */
+    public static <T> Map<T, Double> scoreCandidates(List<T> docs, String keyword,
+                                                     List<Function<T, String>> fields, double[] boosts) {
+        Set<String> terms = NGrams.bigrams(NGrams.normalize(keyword));
+        int fieldCount = fields.size();
+        double[] avgLength = new double[fieldCount];
+        Map<String, Integer> docFreq = new HashMap<>();
+        for (T doc : docs) {
+            Set<String> seen = new HashSet<>();
+            for (int f = 0; f < fieldCount; f++) {
+                Map<String, Integer> tf = NGrams.bigramCounts(NGrams.normalize(fields.get(f).apply(doc)));
+                avgLength[f] += NGrams.total(tf);
+                for (String term : terms) if (tf.containsKey(term)) seen.add(term);
+            }
+            seen.forEach(term -> docFreq.merge(term, 1, Integer::sum));
+        }
+        if (!docs.isEmpty()) {
+            for (int f = 0; f < fieldCount; f++) avgLength[f] /= docs.size();
+        }
+        return score(docs, keyword, fields, boosts, new Corpus() {
+            @Override
+            public int docCount() {
+                return docs.size();
+            }
+
+            @Override
+            public int docFreq(String term) {
+                return docFreq.getOrDefault(term, 0);
+            }
+
+            @Override
+            public double avgLength(int field) {
+                return avgLength[field];
+            }
+        });
+    }
+
+    /** 후보마다 필드별 tf 는 후보 자체에서, df 와 평균 필드 길이는 corpus 에서 가져와 점수화한다 */
+    static <T> Map<T, Double> score(List<T> docs, String keyword, List<Function<T, String>> fields,
+                                    double[] boosts, Corpus corpus) {
+        String query = NGrams.normalize(keyword);
+        Set<String> terms = NGrams.bigrams(query);
+        Map<T, Double> scores = new HashMap<>();
+        int fieldCount = fields.size();
+        for (T doc : docs) {
+            double score = 0.0;
+            if (terms.isEmpty()) {
+                // 1글자 키워드: 포함한 필드의 가중치 합
+                for (int f = 0; f < fieldCount; f++) {
+                    if (NGrams.normalize(fields.get(f).apply(doc)).contains(query)) score += boosts[f];
+                }
+            } else {
+                List<Map<String, Integer>> tfs = new ArrayList<>(fieldCount);
+                for (int f = 0; f < fieldCount; f++) {
+                    tfs.add(NGrams.bigramCounts(NGrams.normalize(fields.get(f).apply(doc))));
+                }
+                for (String term : terms) {
+                    double weighted = 0.0;
+                    for (int f = 0; f < fieldCount; f++) {
+                        Map<String, Integer> tf = tfs.get(f);
+                        weighted += fieldWeight(tf.getOrDefault(term, 0), NGrams.total(tf), corpus.avgLength(f), boosts[f]);
+                    }
+                    score += idf(corpus.docCount(), corpus.docFreq(term)) * saturate(weighted);
+                }
+            }
+            scores.put(doc, score);
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,144 @@
+package com.eiummarket.demo.service.search;
+
+import java.util.*;
+
+/**
+ * 오타 허용 검색용 SymSpell 방식 삭제 사전.
+ * 상점명/상품명을 공백 단위 토큰으로 나눠 자모 분해한 뒤, 앞부분(PREFIX_LENGTH)에서 최대 MAX_DISTANCE 글자를
+ * 지운 변형을 미리 색인한다. 조회 시에는 검색어 토큰의 삭제 변형만 만들어 후보를 찾고
+ * 전체 문자열의 편집 거리(인접 전치 포함)로 검증한다.
+ * 자모 단위라 "김빱"→"김밥", "상초"→"상추" 같은 음절 내 오타가 거리 1이 된다.
+ * 스레드 안전하지 않으므로 소유한 색인의 잠금 안에서 사용한다.
+ */
+final class FuzzyDictionary {
+
+    static final int MAX_DISTANCE = 2;
+    static final int PREFIX_LENGTH = 7;
+
+    private final Map<String, Set<Long>> terms = new HashMap<>();
+    private final Map<String, Set<String>> deletes = new HashMap<>();
+    private final Map<Long, Set<String>> docTerms = new HashMap<>();
+
+    /** 토큰 길이(자모 수)에 따른 허용 거리: 짧은 토큰은 오타 허용 시 오탐이 많아 제외 */
+    static int allowedDistance(String term) {
+        if (term.length() < 4) return 0;
+        return term.length() < 8 ? 1 : MAX_DISTANCE;
+    }
+
+    static List<String> tokens(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split("\\s+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    void put(Long id, Collection<String> texts) {
+        remove(id);
+        Set<String> own = new HashSet<>();
+        for (String text : texts) {
+            for (String token : tokens(text)) own.add(Hangul.decompose(token));
+        }
+        if (own.isEmpty()) return;
+        docTerms.put(id, own);
+        for (String term : own) {
+            Set<Long> ids = terms.computeIfAbsent(term, t -> new HashSet<>());
+            if (ids.isEmpty()) {
+                for (String variant : variants(prefix(term), MAX_DISTANCE)) {
+                    deletes.computeIfAbsent(variant, v -> new HashSet<>()).add(term);
+                }
+            }
+            ids.add(id);
+        }
+    }
+
+    void remove(Long id) {
+        Set<String> own = docTerms.remove(id);
+        if (own == null) return;
+        for (String term : own) {
+            Set<Long> ids = terms.get(term);
+            if (ids == null || !ids.remove(id) || !ids.isEmpty()) continue;
+            terms.remove(term);
+            for (String variant : variants(prefix(term), MAX_DISTANCE)) {
+                Set<String> owners = deletes.get(variant);
+                if (owners != null && owners.remove(term) && owners.isEmpty()) deletes.remove(variant);
+            }
+        }
+    }
+
+    /**
+     * 토큰과 편집 거리 이내인 용어를 가진 문서 ID → 최소 거리.
+     * deadlineNanos 를 넘기면 그때까지 찾은 결과만 반환한다.
+     */
+    Map<Long, Integer> lookup(String token, long deadlineNanos) {
+        Map<Long, Integer> result = new HashMap<>();
+        String query = Hangul.decompose(token);
+        int maxDistance = allowedDistance(query);
+        if (maxDistance == 0) return result;
+
+        Set<String> checked = new HashSet<>();
+        for (String variant : variants(prefix(query), maxDistance)) {
+            if (System.nanoTime() > deadlineNanos) break;
+            Set<String> owners = deletes.get(variant);
+            if (owners == null) continue;
+            for (String term : owners) {
+                if (!checked.add(term) || Math.abs(term.length() - query.length()) > maxDistance) continue;
+                int distance = distance(query, term, maxDistance);
+                if (distance > maxDistance) continue;
+                for (Long id : terms.get(term)) result.merge(id, distance, Math::min);
+            }
+        }
+        return result;
+    }
+
+    private static String prefix(String term) {
+        return term.length() <= PREFIX_LENGTH ? term : term.substring(0, PREFIX_LENGTH);
+    }
+
+    /** 원본과 최대 maxDeletes 글자를 지운 모든 변형 */
+    private static Set<String> variants(String word, int maxDeletes) {
+        Set<String> result = new HashSet<>();
+        result.add(word);
+        List<String> frontier = List.of(word);
+        for (int d = 0; d < maxDeletes; d++) {
+            List<String> next = new ArrayList<>();
+            for (String w : frontier) {
+                if (w.length() <= 1) continue;
+                for (int i = 0; i < w.length(); i++) {
+                    String deleted = w.substring(0, i) + w.substring(i + 1);
+                    if (result.add(deleted)) next.add(deleted);
+                }
+            }
+            frontier = next;
+        }
+        return result;
+    }
+
+    /** 인접 전치를 포함한 편집 거리 (OSA). max 를 넘는 것이 확실해지면 max + 1 을 반환 */
+    static int distance(String a, String b, int max) {
+        int n = a.length(), m = b.length();
+        int[] prev2 = new int[m + 1];
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = j;
+        for (int i = 1; i <= n; i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int v = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    v = Math.min(v, prev2[j - 2] + 1);
+                }
+                cur[j] = v;
+                rowMin = Math.min(rowMin, v);
+            }
+            if (rowMin > max) return max + 1;
+            int[] tmp = prev2;
+            prev2 = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return prev[m];
+    }
+}
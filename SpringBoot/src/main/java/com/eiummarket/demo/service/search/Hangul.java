@@ -0,0 +1,116 @@
+package com.eiummarket.demo.service.search;
+
+/**
+ * 한글 초성/자모 분해 유틸리티.
+ * 완성형 음절(가~힣)을 호환용 자모(ㄱ, ㅏ ...)로 풀고, 겹자음/겹모음은 기본 자모로 한 번 더 나눈다.
+ * 예) "김밥" → 초성 "ㄱㅂ", 자모 "ㄱㅣㅁㅂㅏㅂ" / "닭" → "ㄷㅏㄹㄱ"
+ * 공백은 키에서 제외해 띄어쓰기와 무관하게 일치시킨다.
+ */
+public final class Hangul {
+    private Hangul() {}
+
+    private static final char SYLLABLE_BASE = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private static final String[] CHO = {
+            "ㄱ", "ㄱㄱ", "ㄴ", "ㄷ", "ㄷㄷ", "ㄹ", "ㅁ", "ㅂ", "ㅂㅂ", "ㅅ",
+            "ㅅㅅ", "ㅇ", "ㅈ", "ㅈㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    /** 초성 키에서는 된소리를 그대로 둔다 (ㄲ 입력이 ㄲ 으로만 일치) */
+    private static final char[] CHO_CHAR = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    private static final String[] JUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ",
+            "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] JONG = {
+            "", "ㄱ", "ㄱㄱ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ",
+            "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ",
+            "ㅅㅅ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    /** 호환용 자모(ㄱ~ㅣ, U+3131~U+3163) 중 겹자모의 기본 자모 분해. 인덱스는 (c - 'ㄱ') */
+    private static final String[] COMPAT = {
+            "ㄱ", "ㄱㄱ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄷㄷ", "ㄹ", "ㄹㄱ",
+            "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅂ", "ㅂㅅ",
+            "ㅅ", "ㅅㅅ", "ㅇ", "ㅈ", "ㅈㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ",
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ",
+            "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+
+    static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+
+    static boolean isCompatJamo(char c) {
+        return c >= 'ㄱ' && c <= 'ㅣ';
+    }
+
+    static boolean isCompatConsonant(char c) {
+        return c >= 'ㄱ' && c <= 'ㅎ';
+    }
+
+    /** 공백을 제외한 모든 글자가 자음이면 초성 검색어 ("ㄱㅂ") */
+    public static boolean isChoseongQuery(String text) {
+        boolean any = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (!isCompatConsonant(c)) return false;
+            any = true;
+        }
+        return any;
+    }
+
+    /** 낱자모가 섞인 입력 중 검색어 ("김ㅂ", "ㄱㅂ") — LIKE/부분 문자열로는 일치할 수 없다 */
+    public static boolean hasLooseJamo(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isCompatJamo(text.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    /** 한글(음절 또는 자모)이 하나라도 있으면 자모 색인 대상 */
+    public static boolean hasHangul(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSyllable(c) || isCompatJamo(c)) return true;
+        }
+        return false;
+    }
+
+    /** 음절은 초성으로, 그 외 글자는 그대로 (공백 제외) */
+    public static String choseong(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            sb.append(isSyllable(c) ? CHO_CHAR[(c - SYLLABLE_BASE) / (JUNG_COUNT * JONG_COUNT)] : c);
+        }
+        return sb.toString();
+    }
+
+    /** 음절과 겹자모를 기본 자모 열로 분해 (공백 제외) */
+    public static String decompose(String text) {
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (isSyllable(c)) {
+                int offset = c - SYLLABLE_BASE;
+                sb.append(CHO[offset / (JUNG_COUNT * JONG_COUNT)])
+                        .append(JUNG[(offset / JONG_COUNT) % JUNG_COUNT])
+                        .append(JONG[offset % JONG_COUNT]);
+            } else if (isCompatJamo(c)) {
+                sb.append(COMPAT[c - 'ㄱ']);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
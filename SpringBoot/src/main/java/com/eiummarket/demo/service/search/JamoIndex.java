@@ -0,0 +1,109 @@
+package com.eiummarket.demo.service.search;
+
+import java.util.*;
+
+/**
+ * 초성/자모 키 보조 색인. 문서 ID마다 이름 텍스트의 초성 열과 자모 분해 열을 보관하고,
+ * 각각의 bigram posting 으로 후보를 좁힌 뒤 부분 문자열로 검증한다.
+ * 키는 문서를 넣을 때 한 번만 계산하므로 검색 시에는 검색어만 분해한다.
+ * 스레드 안전하지 않으므로 소유한 색인의 잠금 안에서 사용한다.
+ */
+final class JamoIndex {
+
+    private final Map<Long, List<String>> choseongKeys = new HashMap<>();
+    private final Map<Long, List<String>> jamoKeys = new HashMap<>();
+    private final Map<String, Set<Long>> choseongPostings = new HashMap<>();
+    private final Map<String, Set<Long>> jamoPostings = new HashMap<>();
+
+    /** 검색어가 자모 색인으로 찾을 수 있는 형태인지 (한글이 포함된 경우) */
+    static boolean applies(String normalizedQuery) {
+        return Hangul.hasHangul(normalizedQuery);
+    }
+
+    /** 한 텍스트가 검색어와 초성/자모 기준으로 일치하는지 (점수 계산용) */
+    static boolean matches(String text, String normalizedQuery) {
+        return Hangul.isChoseongQuery(normalizedQuery)
+                ? Hangul.choseong(text).contains(Hangul.choseong(normalizedQuery))
+                : Hangul.decompose(text).contains(Hangul.decompose(normalizedQuery));
+    }
+
+    /** 문서의 키 교체. 한글이 없는 텍스트는 본 색인으로 충분하므로 넣지 않는다 */
+    void put(Long id, Collection<String> texts) {
+        remove(id);
+        List<String> chos = new ArrayList<>();
+        List<String> jamos = new ArrayList<>();
+        for (String text : texts) {
+            if (!Hangul.hasHangul(text)) continue;
+            chos.add(Hangul.choseong(text));
+            jamos.add(Hangul.decompose(text));
+        }
+        if (chos.isEmpty()) return;
+        choseongKeys.put(id, chos);
+        jamoKeys.put(id, jamos);
+        index(choseongPostings, id, chos);
+        index(jamoPostings, id, jamos);
+    }
+
+    void remove(Long id) {
+        unindex(choseongPostings, id, choseongKeys.remove(id));
+        unindex(jamoPostings, id, jamoKeys.remove(id));
+    }
+
+    /** 초성 검색어는 초성 키에서, 그 외 한글 검색어는 자모 키에서 찾는다 */
+    Set<Long> search(String normalizedQuery) {
+        if (!applies(normalizedQuery)) return Set.of();
+        boolean choseong = Hangul.isChoseongQuery(normalizedQuery);
+        String key = choseong ? Hangul.choseong(normalizedQuery) : Hangul.decompose(normalizedQuery);
+        Map<Long, List<String>> keys = choseong ? choseongKeys : jamoKeys;
+        Map<String, Set<Long>> postings = choseong ? choseongPostings : jamoPostings;
+
+        Set<Long> result = new HashSet<>();
+        for (Long id : candidates(postings, keys, NGrams.bigrams(key))) {
+            for (String text : keys.get(id)) {
+                if (text.contains(key)) {
+                    result.add(id);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Collection<Long> candidates(Map<String, Set<Long>> postings, Map<Long, List<String>> keys, Set<String> grams) {
+        if (grams.isEmpty()) return keys.keySet();
+
+        List<Set<Long>> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) return List.of();
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static void index(Map<String, Set<Long>> postings, Long id, List<String> keys) {
+        for (String key : keys) {
+            for (String gram : NGrams.bigrams(key)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+            }
+        }
+    }
+
+    private static void unindex(Map<String, Set<Long>> postings, Long id, List<String> keys) {
+        if (keys == null) return;
+        for (String key : keys) {
+            for (String gram : NGrams.bigrams(key)) {
+                Set<Long> posting = postings.get(gram);
+                if (posting != null && posting.remove(id) && posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.eiummarket.demo.service.search;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 전체 시장에 대한 BM25 말뭉치 통계. 시장마다 bigram 집합과 필드 길이를 두고,
+ * bigram 별 df 와 필드 길이 합을 시장 단위 교체/삭제에 맞춰 유지한다.
+ * 필드 순서는 시장명, 설명이다. 잠금은 {@link MarketNameIndex}가 맡는다.
+ */
+final class MarketCorpus implements Bm25.Corpus {
+
+    private record Entry(Set<String> grams, int[] lengths) {}
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Integer> docFreq = new HashMap<>();
+    private final long[] lengthSums = new long[2];
+
+    /** 시장 문서 추가 (같은 시장이 있으면 교체) */
+    void put(Long marketId, String name, String description) {
+        remove(marketId);
+        Map<String, Integer> nameCounts = NGrams.bigramCounts(NGrams.normalize(name));
+        Map<String, Integer> descriptionCounts = NGrams.bigramCounts(NGrams.normalize(description));
+        Set<String> grams = new HashSet<>(nameCounts.keySet());
+        grams.addAll(descriptionCounts.keySet());
+        int[] lengths = {NGrams.total(nameCounts), NGrams.total(descriptionCounts)};
+
+        entries.put(marketId, new Entry(grams, lengths));
+        grams.forEach(gram -> docFreq.merge(gram, 1, Integer::sum));
+        for (int f = 0; f < lengths.length; f++) lengthSums[f] += lengths[f];
+    }
+
+    void remove(Long marketId) {
+        Entry old = entries.remove(marketId);
+        if (old == null) return;
+        old.grams().forEach(gram -> docFreq.computeIfPresent(gram, (g, count) -> count == 1 ? null : count - 1));
+        for (int f = 0; f < old.lengths().length; f++) lengthSums[f] -= old.lengths()[f];
+    }
+
+    @Override
+    public int docCount() {
+        return entries.size();
+    }
+
+    @Override
+    public int docFreq(String term) {
+        return docFreq.getOrDefault(term, 0);
+    }
+
+    @Override
+    public double avgLength(int field) {
+        return entries.isEmpty() ? 0.0 : (double) lengthSums[field] / entries.size();
+    }
+}
@@ -0,0 +1,128 @@
+package com.eiummarket.demo.service.search;
+
+import com.eiummarket.demo.model.Market;
+import com.eiummarket.demo.repository.MarketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 시장명 초성/자모 보조 색인과 시장 BM25 통계({@link MarketCorpus}). 처음 검색할 때 전체 시장명/설명을 읽어 만들고,
+ * 이후 변경은 {@link SearchIndexEventListener}가 시장 단위로 반영한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MarketNameIndex {
+
+    private static final List<Function<Market, String>> FIELDS = List.of(Market::getName, Market::getDescription);
+    /** 시장명 > 설명 */
+    private static final double[] BOOSTS = {3.0, 1.0};
+
+    private final MarketRepository marketRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong generation = new AtomicLong();
+    private JamoIndex index;
+    private MarketCorpus corpus;
+
+    /** 초성/자모 기준으로 이름이 일치하는 시장 ID (한글이 없는 검색어는 빈 집합) */
+    public Set<Long> search(String keyword) {
+        String normalized = NGrams.normalize(keyword);
+        if (!JamoIndex.applies(normalized)) return Set.of();
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            return index == null ? Set.of() : index.search(normalized);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 후보 시장의 BM25 점수 (시장 ID → 점수). df 와 평균 필드 길이는 후보가 아니라 전체 시장 기준이다.
+     * 빌드 도중 변경이 겹쳐 통계가 없으면 후보 자체의 통계로 계산한다.
+     */
+    public Map<Long, Double> score(List<Market> markets, String keyword) {
+        ensureBuilt();
+        Map<Market, Double> scores;
+        lock.readLock().lock();
+        try {
+            scores = corpus == null
+                    ? Bm25.scoreCandidates(markets, keyword, FIELDS, BOOSTS)
+                    : Bm25.score(markets, keyword, FIELDS, BOOSTS, corpus);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Long, Double> byId = new HashMap<>();
+        scores.forEach((market, score) -> byId.put(market.getMarketId(), score));
+        return byId;
+    }
+
+    /** 시장 하나를 DB에서 다시 읽어 교체 (아직 빌드 전이면 다음 검색 때 반영) */
+    public void upsertMarket(Long marketId) {
+        generation.incrementAndGet();
+        Optional<Market> market = marketRepository.findById(marketId);
+        lock.writeLock().lock();
+        try {
+            if (index == null) return;
+            if (market.isPresent()) {
+                index.put(marketId, List.of(NGrams.normalize(market.get().getName())));
+                corpus.put(marketId, market.get().getName(), market.get().getDescription());
+            } else {
+                index.remove(marketId);
+                corpus.remove(marketId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeMarket(Long marketId) {
+        generation.incrementAndGet();
+        lock.writeLock().lock();
+        try {
+            if (index == null) return;
+            index.remove(marketId);
+            corpus.remove(marketId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        lock.readLock().lock();
+        try {
+            if (index != null) return;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // 빌드 도중 변경이 커밋되면 세대가 바뀌므로, 낡은 색인은 보관하지 않는다
+        long before = generation.get();
+        JamoIndex built = new JamoIndex();
+        MarketCorpus builtCorpus = new MarketCorpus();
+        for (Object[] row : marketRepository.findAllMarketTexts()) {
+            Long marketId = (Long) row[0];
+            built.put(marketId, List.of(NGrams.normalize((String) row[1])));
+            builtCorpus.put(marketId, (String) row[1], (String) row[2]);
+        }
+        lock.writeLock().lock();
+        try {
+            if (index == null && generation.get() == before) {
+                index = built;
+                corpus = builtCorpus;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
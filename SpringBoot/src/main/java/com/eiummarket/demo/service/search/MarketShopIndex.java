@@ -0,0 +1,262 @@
+package com.eiummarket.demo.service.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 시장 하나에 대한 bigram 역색인.
+ * 상점명, 설명, 카테고리명, 상품명/설명을 모두 하나의 문서로 묶어 색인한다.
+ * 상점 단위로 문서를 교체/삭제할 수 있어 전체 재빌드 없이 변경분만 반영한다.
+ * posting 크기(df)와 필드 길이 합을 함께 유지해 BM25 점수를 후보당 조회 몇 번으로 계산한다.
+ * 상점명/상품명은 초성·자모 보조 색인({@link JamoIndex})에도 넣어 "ㄱㅂ", "김ㅂ" 같은 입력 중 검색어를 찾는다.
+ * 같은 이름 토큰으로 오타 허용 사전({@link FuzzyDictionary})도 유지한다.
+ */
+final class MarketShopIndex {
+
+    private static final List<SearchField> NAME_FIELDS = List.of(SearchField.NAME, SearchField.ITEM_NAME);
+    private static final double JAMO_SCORE_SCALE = 0.01;
+    private static final double FUZZY_SCORE_SCALE = 0.005;
+
+    private final Map<Long, ShopDoc> docs = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<SearchField, Long> fieldLengthSums = new EnumMap<>(SearchField.class);
+    private final JamoIndex jamoIndex = new JamoIndex();
+    private final FuzzyDictionary fuzzy = new FuzzyDictionary();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 자동완성 트라이. 문서가 바뀌면 비우고 다음 조회 때 다시 만든다 */
+    private volatile AutocompleteTrie trie;
+
+    /** 문서 추가 (같은 상점 문서가 있으면 교체) */
+    void put(ShopDoc doc) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(doc.shopId);
+            docs.put(doc.shopId, doc);
+            List<String> names = nameTexts(doc);
+            jamoIndex.put(doc.shopId, names);
+            fuzzy.put(doc.shopId, names);
+            trie = null;
+            for (SearchField field : SearchField.values()) {
+                fieldLengthSums.merge(field, (long) doc.length(field), Long::sum);
+            }
+            for (String text : doc.texts) {
+                for (String gram : NGrams.bigrams(text)) {
+                    postings.computeIfAbsent(gram, g -> new HashSet<>()).add(doc.shopId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long shopId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(shopId);
+            trie = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    ShopDoc get(Long shopId) {
+        lock.readLock().lock();
+        try {
+            return docs.get(shopId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * bigram posting 교집합으로 후보를 고른 뒤 부분 문자열 일치로 검증한다.
+     * 1글자 키워드는 bigram이 없으므로 시장 내 전체 문서를 검증한다.
+     * 한글 검색어는 자모 보조 색인 결과를 더하되, 본 색인에 없던 문서는 낮은 점수로 뒤에 둔다.
+     */
+    List<SearchHit> search(String normalizedKeyword) {
+        lock.readLock().lock();
+        try {
+            Set<String> grams = NGrams.bigrams(normalizedKeyword);
+            List<SearchHit> result = new ArrayList<>();
+            for (Long shopId : candidates(grams)) {
+                ShopDoc doc = docs.get(shopId);
+                if (doc != null && doc.contains(normalizedKeyword)) {
+                    result.add(new SearchHit(doc, score(doc, grams, normalizedKeyword)));
+                }
+            }
+            if (JamoIndex.applies(normalizedKeyword)) {
+                Set<Long> found = new HashSet<>();
+                result.forEach(hit -> found.add(hit.doc().shopId));
+                for (Long shopId : jamoIndex.search(normalizedKeyword)) {
+                    if (found.add(shopId)) {
+                        ShopDoc doc = docs.get(shopId);
+                        result.add(new SearchHit(doc, jamoScore(doc, normalizedKeyword)));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 오타 허용 검색. 검색어 토큰마다 그대로 포함하거나 편집 거리 이내인 이름 토큰을 가진 문서를 찾고,
+     * 모든 토큰을 만족하는 문서만 남긴다. 점수는 거리가 멀수록 낮고 자모 일치보다도 뒤에 온다.
+     * deadlineNanos 를 넘기면 사전 탐색은 멈추고, 남은 토큰은 그때까지의 후보 중 그대로 포함하는 문서만 남긴다.
+     */
+    List<SearchHit> fuzzySearch(String normalizedKeyword, long deadlineNanos) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : FuzzyDictionary.tokens(normalizedKeyword)) {
+                if (scores != null && System.nanoTime() > deadlineNanos) {
+                    // 시간이 지나도 모든 토큰 조건은 지킨다 (정확히 포함하는지만 확인하므로 싸다)
+                    scores.keySet().removeIf(shopId -> {
+                        ShopDoc doc = docs.get(shopId);
+                        return doc == null || !doc.contains(token);
+                    });
+                    scores.replaceAll((shopId, score) -> score + FUZZY_SCORE_SCALE);
+                    if (scores.isEmpty()) break;
+                    continue;
+                }
+                Map<Long, Double> tokenScores = new HashMap<>();
+                fuzzy.lookup(token, deadlineNanos)
+                        .forEach((shopId, distance) -> tokenScores.put(shopId, FUZZY_SCORE_SCALE / (1 + distance)));
+                for (Long shopId : candidates(NGrams.bigrams(token))) {
+                    ShopDoc doc = docs.get(shopId);
+                    if (doc != null && doc.contains(token)) tokenScores.put(shopId, FUZZY_SCORE_SCALE);
+                }
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((shopId, score) -> score + tokenScores.get(shopId));
+                }
+                if (scores.isEmpty()) break;
+            }
+            List<SearchHit> result = new ArrayList<>();
+            if (scores == null) return result;
+            scores.forEach((shopId, score) -> {
+                ShopDoc doc = docs.get(shopId);
+                if (doc != null) result.add(new SearchHit(doc, score));
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 접두어 자동완성. 트라이는 읽기 잠금 안에서 만들어 쓰기와 겹치지 않는다 */
+    List<AutocompleteTrie.Entry> autocomplete(String normalizedPrefix, int limit) {
+        AutocompleteTrie current = trie;
+        if (current == null) {
+            lock.readLock().lock();
+            try {
+                current = trie;
+                if (current == null) {
+                    current = AutocompleteTrie.build(docs.values());
+                    trie = current;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return current.suggest(normalizedPrefix, limit);
+    }
+
+    /** 다른 색인(보통 DB에서 새로 빌드한 것)과 문서 구성이 같은지 비교 */
+    boolean sameContentAs(MarketShopIndex other) {
+        lock.readLock().lock();
+        other.lock.readLock().lock();
+        try {
+            if (!docs.keySet().equals(other.docs.keySet())) return false;
+            for (ShopDoc doc : docs.values()) {
+                ShopDoc theirs = other.docs.get(doc.shopId);
+                if (!Objects.equals(doc.name, theirs.name) || !doc.fields.equals(theirs.fields)) return false;
+            }
+            return true;
+        } finally {
+            other.lock.readLock().unlock();
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(Long shopId) {
+        ShopDoc old = docs.remove(shopId);
+        if (old == null) return;
+        jamoIndex.remove(shopId);
+        fuzzy.remove(shopId);
+        for (SearchField field : SearchField.values()) {
+            fieldLengthSums.merge(field, (long) -old.length(field), Long::sum);
+        }
+        for (String text : old.texts) {
+            for (String gram : NGrams.bigrams(text)) {
+                Set<Long> posting = postings.get(gram);
+                if (posting != null && posting.remove(shopId) && posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * BM25F: bigram 마다 필드별 tf 를 가중치/길이 정규화해 합친 뒤 포화시키고 idf 를 곱한다.
+     * 1글자 키워드는 bigram 이 없으므로 키워드를 포함한 필드의 가중치 합으로 대신한다.
+     */
+    private double score(ShopDoc doc, Set<String> grams, String normalizedKeyword) {
+        double score = 0.0;
+        if (grams.isEmpty()) {
+            for (SearchField field : SearchField.values()) {
+                if (doc.fieldContains(field, normalizedKeyword)) score += field.boost;
+            }
+            return score;
+        }
+        int docCount = docs.size();
+        for (String gram : grams) {
+            Set<Long> posting = postings.get(gram);
+            double weighted = 0.0;
+            for (SearchField field : SearchField.values()) {
+                double avgLength = (double) fieldLengthSums.getOrDefault(field, 0L) / docCount;
+                weighted += Bm25.fieldWeight(doc.termFreq(field, gram), doc.length(field), avgLength, field.boost);
+            }
+            score += Bm25.idf(docCount, posting == null ? 0 : posting.size()) * Bm25.saturate(weighted);
+        }
+        return score;
+    }
+
+    /** 자모로만 일치한 문서: 일치한 필드 가중치에 작은 배율을 곱해 정식 일치보다 뒤에 오게 한다 */
+    private static double jamoScore(ShopDoc doc, String normalizedKeyword) {
+        for (SearchField field : NAME_FIELDS) {
+            for (String text : doc.fields.getOrDefault(field, List.of())) {
+                if (JamoIndex.matches(text, normalizedKeyword)) return field.boost * JAMO_SCORE_SCALE;
+            }
+        }
+        return 0.0;
+    }
+
+    private static List<String> nameTexts(ShopDoc doc) {
+        List<String> texts = new ArrayList<>();
+        for (SearchField field : NAME_FIELDS) texts.addAll(doc.fields.getOrDefault(field, List.of()));
+        return texts;
+    }
+
+    private Collection<Long> candidates(Set<String> grams) {
+        if (grams.isEmpty()) return docs.keySet();
+
+        List<Set<Long>> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) return List.of();
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+}
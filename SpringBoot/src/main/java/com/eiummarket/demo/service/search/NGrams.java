@@ -0,0 +1,42 @@
+package com.eiummarket.demo.service.search;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 검색 색인용 문자열 정규화 및 bigram 분해 유틸리티.
+ */
+final class NGrams {
+    private NGrams() {}
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** 정규화된 문자열을 2글자 단위로 분해 (1글자 이하면 빈 집합) */
+    static Set<String> bigrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    /** bigram 별 출현 횟수 (BM25 tf) */
+    static Map<String, Integer> bigramCounts(String normalized) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i + 2 <= normalized.length(); i++) {
+            counts.merge(normalized.substring(i, i + 2), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    static int total(Map<String, Integer> counts) {
+        int sum = 0;
+        for (int count : counts.values()) sum += count;
+        return sum;
+    }
+}
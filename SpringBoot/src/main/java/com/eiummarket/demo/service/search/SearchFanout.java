@@ -0,0 +1,101 @@
+package com.eiummarket.demo.service.search;
+
+import com.eiummarket.demo.monitoring.QueryStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * 검색 하위 쿼리들을 가상 스레드에서 동시에 실행한다.
+ * 각 branch는 자체 읽기 전용 트랜잭션(=별도 커넥션)에서 돌고, 전체 대기 시간은 가장 느린 branch에 수렴한다.
+ * 호출 측이 트랜잭션 안에서 기다리면 그 커넥션까지 branch 수 + 1 개를 붙잡으므로, 호출 메서드는 트랜잭션 없이(NOT_SUPPORTED) 실행한다.
+ * 반환되는 엔티티는 준영속 상태이므로 연관 컬렉션이 필요하면 호출 측에서 다시 조회해야 한다.
+ */
+@Slf4j
+@Component
+public class SearchFanout {
+
+    /** 이름이 붙은 하위 쿼리 (이름은 타이머 태그로 사용) */
+    public record Branch<T>(String name, Supplier<List<T>> query) {}
+
+    /** branch 순서대로의 결과. partial 이면 시간 초과로 빈 결과가 된 branch 가 있어 합친 결과와 전체 개수가 모자랄 수 있다 */
+    public record Results<T>(List<List<T>> branches, boolean partial) {
+        public List<T> get(int index) {
+            return branches.get(index);
+        }
+    }
+
+    private final TransactionTemplate readOnlyTx;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMs;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SearchFanout(PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${search.fanout.timeout-ms:2000}") long timeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        // 트랜잭션 타임아웃이 JPA 쿼리 타임아웃으로 전달되어 DB 쪽 쿼리도 끊긴다
+        this.readOnlyTx.setTimeout((int) Math.max(1, (timeoutMs + 999) / 1000));
+    }
+
+    /**
+     * 모든 branch를 동시에 실행하고 branch 순서대로 결과를 돌려준다.
+     * 시간 초과된 branch는 취소 후 빈 결과로 취급하고 partial 로 표시한다 (결과를 캐시하면 안 된다). 그 외 예외는 그대로 전파한다.
+     */
+    public <T> Results<T> run(String search, List<Branch<T>> branches) {
+        List<Future<List<T>>> futures = new ArrayList<>(branches.size());
+        for (Branch<T> branch : branches) {
+            Timer timer = Timer.builder("search.branch")
+                    .tag("search", search)
+                    .tag("branch", branch.name())
+                    .register(meterRegistry);
+            // 요청의 SQL 측정 구간을 branch 스레드로 넘겨 엔드포인트별 쿼리 수에 포함시킨다
+            futures.add(executor.submit(QueryStats.propagate(() -> timer.recordCallable(() -> readOnlyTx.execute(status -> branch.query().get())))));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<List<T>> results = new ArrayList<>(branches.size());
+        boolean partial = false;
+        for (int i = 0; i < futures.size(); i++) {
+            Future<List<T>> future = futures.get(i);
+            try {
+                long remaining = Math.max(0L, deadline - System.nanoTime());
+                List<T> result = future.get(remaining, TimeUnit.NANOSECONDS);
+                results.add(result == null ? List.of() : result);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                meterRegistry.counter("search.branch.timeout", "search", search, "branch", branches.get(i).name()).increment();
+                log.warn("Search branch {}.{} timed out after {}ms; continuing without it", search, branches.get(i).name(), timeoutMs);
+                results.add(List.of());
+                partial = true;
+            } catch (ExecutionException e) {
+                futures.forEach(f -> f.cancel(true));
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw new IllegalStateException("검색 하위 쿼리 실행 실패: " + branches.get(i).name(), e.getCause());
+            } catch (InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("검색이 중단되었습니다.", e);
+            }
+        }
+        return new Results<>(results, partial);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,18 @@
+package com.eiummarket.demo.service.search;
+
+/**
+ * 상점 문서의 검색 필드와 BM25 가중치 (상점명 > 카테고리 > 상품명 > 설명)
+ */
+enum SearchField {
+    NAME(3.0),
+    CATEGORY(2.0),
+    ITEM_NAME(1.5),
+    /** 상점 설명과 상품 설명 */
+    DESCRIPTION(1.0);
+
+    final double boost;
+
+    SearchField(double boost) {
+        this.boost = boost;
+    }
+}
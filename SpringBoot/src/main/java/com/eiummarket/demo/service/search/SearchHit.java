@@ -0,0 +1,6 @@
+package com.eiummarket.demo.service.search;
+
+/**
+ * 검색에 매칭된 상점 문서와 BM25 점수
+ */
+record SearchHit(ShopDoc doc, double score) {}
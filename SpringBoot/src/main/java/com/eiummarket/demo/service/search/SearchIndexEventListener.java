@@ -0,0 +1,75 @@
+package com.eiummarket.demo.service.search;
+
+import com.eiummarket.demo.event.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 커밋된 엔티티 변경을 검색 색인에 상점 단위 delta로 반영하고, 해당 시장의 검색 결과 캐시를 비운다.
+ * 트랜잭션 밖에서 발행된 이벤트도 즉시 처리한다 (fallbackExecution).
+ * 커밋 이후에는 원래 트랜잭션에 참여할 수 없으므로 DB 재조회는 새 읽기 전용 트랜잭션에서 수행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexEventListener {
+
+    private final ShopSearchIndex shopSearchIndex;
+    private final SearchResultCache searchResultCache;
+    private final MarketNameIndex marketNameIndex;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onShopChanged(ShopChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            shopSearchIndex.removeShop(event.getMarketId(), event.getShopId());
+        } else {
+            shopSearchIndex.upsertShop(event.getMarketId(), event.getShopId());
+        }
+        searchResultCache.invalidateMarket(event.getMarketId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        shopSearchIndex.upsertShop(event.getMarketId(), event.getShopId());
+        searchResultCache.invalidateMarket(event.getMarketId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        event.getAffectedShops().forEach((marketId, shopIds) -> {
+            shopIds.forEach(shopId -> shopSearchIndex.upsertShop(marketId, shopId));
+            searchResultCache.invalidateMarket(marketId);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onMarketChanged(MarketChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            shopSearchIndex.removeMarket(event.getMarketId());
+            marketNameIndex.removeMarket(event.getMarketId());
+            searchResultCache.invalidateMarket(event.getMarketId());
+        } else {
+            marketNameIndex.upsertMarket(event.getMarketId());
+        }
+    }
+
+    /** 상점 리뷰는 상점 평점(정렬 키)을 바꾸므로 문서를 다시 읽는다. 상품 리뷰는 상점 문서와 무관하다 */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.getItemId() != null) return;
+        shopSearchIndex.upsertShop(event.getMarketId(), event.getShopId());
+        searchResultCache.invalidateMarket(event.getMarketId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        shopSearchIndex.adjustFavoriteCount(event.getMarketId(), event.getShopId(), event.getDelta());
+    }
+}
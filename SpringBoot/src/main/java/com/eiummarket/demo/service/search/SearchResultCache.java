@@ -0,0 +1,81 @@
+package com.eiummarket.demo.service.search;
+
+import com.eiummarket.demo.dto.ShopDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 시장 내 상점 검색 결과 캐시. (시장, 정규화된 키워드, 정렬, 페이지) 단위로 저장한다.
+ * 크기/TTL 로 제거되며, 시장 안의 상점/상품/카테고리 연결이 바뀌면 해당 시장 항목을 모두 비운다.
+ * 적중/미스/제거 지표는 cache.* (cache=shopSearch) 로 노출된다.
+ */
+@Component
+public class SearchResultCache {
+
+    record Key(Long marketId, String keyword, String sort, int page, int size) {}
+
+    /** loader 결과. complete 가 false 면(하위 쿼리 시간 초과로 일부가 빠진 결과) 저장하지 않는다 */
+    public record Loaded(Page<ShopDto.Card> page, boolean complete) {
+        public static Loaded of(Page<ShopDto.Card> page) {
+            return new Loaded(page, true);
+        }
+
+        public static Loaded partial(Page<ShopDto.Card> page) {
+            return new Loaded(page, false);
+        }
+    }
+
+    private final Cache<Key, Page<ShopDto.Card>> cache;
+    private final ConcurrentMap<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public SearchResultCache(MeterRegistry meterRegistry,
+                             @Value("${search.cache.max-size:10000}") long maxSize,
+                             @Value("${search.cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "shopSearch");
+    }
+
+    /**
+     * 캐시에 있으면 반환, 없으면 loader 로 계산해 저장.
+     * 계산 도중 해당 시장이 무효화되었거나 결과가 완전하지 않으면 저장하지 않는다.
+     */
+    public Page<ShopDto.Card> get(Long marketId, String keyword, Pageable pageable,
+                                      Supplier<Loaded> loader) {
+        Key key = new Key(marketId, NGrams.normalize(keyword).replaceAll("\\s+", " "),
+                pageable.getSort().toString(), pageable.getPageNumber(), pageable.getPageSize());
+        Page<ShopDto.Card> cached = cache.getIfPresent(key);
+        if (cached != null) return cached;
+
+        long generation = generation(marketId).get();
+        Loaded result = loader.get();
+        if (result.complete() && generation(marketId).get() == generation) {
+            cache.put(key, result.page());
+        }
+        return result.page();
+    }
+
+    public void invalidateMarket(Long marketId) {
+        generation(marketId).incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.marketId().equals(marketId));
+    }
+
+    private AtomicLong generation(Long marketId) {
+        return generations.computeIfAbsent(marketId, id -> new AtomicLong());
+    }
+}
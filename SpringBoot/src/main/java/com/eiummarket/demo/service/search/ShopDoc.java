@@ -0,0 +1,67 @@
+package com.eiummarket.demo.service.search;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 색인에 보관되는 상점 문서. 정렬 키와 필드별 검색 텍스트(정규화), BM25용 필드별 bigram 빈도를 가진다.
+ */
+final class ShopDoc {
+    final Long shopId;
+    final String name;
+    final LocalDateTime createdAt;
+    final Map<SearchField, List<String>> fields;
+    final List<String> texts;
+    volatile long favoriteCount;
+    final double ratingAverage;
+    final long ratingCount;
+
+    private final Map<SearchField, Map<String, Integer>> termFreqs = new EnumMap<>(SearchField.class);
+    private final Map<SearchField, Integer> lengths = new EnumMap<>(SearchField.class);
+
+    ShopDoc(Long shopId, String name, LocalDateTime createdAt, Long favoriteCount,
+            double ratingAverage, long ratingCount, Map<SearchField, List<String>> fields) {
+        this.shopId = shopId;
+        this.name = name;
+        this.createdAt = createdAt;
+        this.favoriteCount = favoriteCount == null ? 0L : favoriteCount;
+        this.ratingAverage = ratingAverage;
+        this.ratingCount = ratingCount;
+        this.fields = fields;
+
+        List<String> all = new ArrayList<>();
+        for (Map.Entry<SearchField, List<String>> entry : fields.entrySet()) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String text : entry.getValue()) {
+                all.add(text);
+                NGrams.bigramCounts(text).forEach((gram, count) -> counts.merge(gram, count, Integer::sum));
+            }
+            termFreqs.put(entry.getKey(), counts);
+            lengths.put(entry.getKey(), NGrams.total(counts));
+        }
+        this.texts = List.copyOf(all);
+    }
+
+    boolean contains(String normalizedKeyword) {
+        for (String text : texts) {
+            if (text.contains(normalizedKeyword)) return true;
+        }
+        return false;
+    }
+
+    boolean fieldContains(SearchField field, String normalizedKeyword) {
+        for (String text : fields.getOrDefault(field, List.of())) {
+            if (text.contains(normalizedKeyword)) return true;
+        }
+        return false;
+    }
+
+    int termFreq(SearchField field, String gram) {
+        Map<String, Integer> counts = termFreqs.get(field);
+        return counts == null ? 0 : counts.getOrDefault(gram, 0);
+    }
+
+    int length(SearchField field) {
+        return lengths.getOrDefault(field, 0);
+    }
+}
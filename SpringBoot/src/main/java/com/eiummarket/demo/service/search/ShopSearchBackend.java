@@ -0,0 +1,15 @@
+package com.eiummarket.demo.service.search;
+
+/**
+ * 시장 내 상점 검색 방식 (search.shop.backend)
+ */
+public enum ShopSearchBackend {
+    /** 인메모리 bigram 색인으로 후보 선정 후 페이지만 조회 */
+    INDEX,
+    /** 단일 SQL(EXISTS)로 중복 제거/정렬/페이지네이션까지 DB에서 처리 */
+    SQL,
+    /** 상점명/설명/카테고리/상품 4개 쿼리를 가상 스레드에서 동시에 실행 후 병합 */
+    FANOUT,
+    /** SQL 과 같지만 TEXT 설명 컬럼은 FULLTEXT(ngram) MATCH ... AGAINST 로 검색 */
+    FULLTEXT
+}
@@ -0,0 +1,230 @@
+package com.eiummarket.demo.service.search;
+
+import com.eiummarket.demo.dto.ShopDto;
+import com.eiummarket.demo.model.Shop;
+import com.eiummarket.demo.repository.CategoryRepository;
+import com.eiummarket.demo.repository.ItemRepository;
+import com.eiummarket.demo.repository.ShopRepository;
+import com.eiummarket.demo.service.FavoriteCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시장별 상점 검색용 인메모리 bigram 역색인.
+ * 후보 선정과 정렬은 메모리에서 처리하고, DB에서는 최종 페이지의 상점만 조회한다.
+ * 변경 사항은 {@link SearchIndexEventListener}가 상점 단위로 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShopSearchIndex {
+
+    private final ShopRepository shopRepository;
+    private final CategoryRepository categoryRepository;
+    private final ItemRepository itemRepository;
+    private final FavoriteCounter favoriteCounter;
+
+    private final ConcurrentMap<Long, MarketShopIndex> markets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Value("${search.fuzzy.min-hits:3}")
+    private int fuzzyMinHits;
+
+    @Value("${search.fuzzy.budget-ms:20}")
+    private long fuzzyBudgetMs;
+
+    /**
+     * 키워드에 매칭되는 상점 ID를 정렬 순서대로 반환.
+     * 정렬 조건이 없으면 BM25 관련도(score) 내림차순이 기본이다.
+     * 결과가 search.fuzzy.min-hits 보다 적으면 오타 허용 결과를 낮은 점수로 덧붙인다.
+     */
+    public List<Long> search(Long marketId, String keyword, Sort sort) {
+        String normalized = NGrams.normalize(keyword);
+        MarketShopIndex index = marketIndex(marketId);
+        List<SearchHit> hits = index.search(normalized);
+        if (hits.size() < fuzzyMinHits) {
+            // 결과가 적을 때만 오타 허용 검색을 정해진 시간 안에서 보충
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fuzzyBudgetMs);
+            Set<Long> found = new HashSet<>();
+            hits.forEach(hit -> found.add(hit.doc().shopId));
+            for (SearchHit hit : index.fuzzySearch(normalized, deadline)) {
+                if (found.add(hit.doc().shopId)) hits.add(hit);
+            }
+        }
+        hits.sort(comparator(sort));
+        return hits.stream().map(hit -> hit.doc().shopId).toList();
+    }
+
+    /**
+     * 상점명/카테고리명/상품명 접두어 자동완성. 색인이 적재된 시장은 DB를 거치지 않는다.
+     */
+    public List<ShopDto.Suggestion> autocomplete(Long marketId, String prefix, int limit) {
+        String normalized = NGrams.normalize(prefix);
+        if (normalized.isEmpty()) return List.of();
+        return marketIndex(marketId).autocomplete(normalized, limit).stream()
+                .map(entry -> ShopDto.Suggestion.builder()
+                        .text(entry.text())
+                        .type(switch (entry.field()) {
+                            case NAME -> "SHOP";
+                            case CATEGORY -> "CATEGORY";
+                            default -> "ITEM";
+                        })
+                        .shopId(entry.doc().shopId)
+                        .shopName(entry.doc().name)
+                        .favoriteCount(entry.doc().favoriteCount)
+                        .build())
+                .toList();
+    }
+
+    /** 상점 문서 하나를 DB에서 다시 읽어 교체 (색인이 아직 없는 시장은 다음 검색 시 빌드) */
+    public void upsertShop(Long marketId, Long shopId) {
+        generation(marketId).incrementAndGet();
+        MarketShopIndex index = markets.get(marketId);
+        if (index == null) return;
+
+        Optional<Shop> shop = shopRepository.findById(shopId);
+        if (shop.isEmpty()) {
+            index.remove(shopId);
+            return;
+        }
+        Map<SearchField, List<String>> fields = new EnumMap<>(SearchField.class);
+        categoryRepository.findCategoryNamesByShopId(shopId).forEach(name -> addText(fields, SearchField.CATEGORY, name));
+        for (Object[] row : itemRepository.findItemTextsByShopId(shopId)) {
+            addText(fields, SearchField.ITEM_NAME, (String) row[0]);
+            addText(fields, SearchField.DESCRIPTION, (String) row[1]);
+        }
+        index.put(toDoc(shop.get(), fields));
+    }
+
+    public void removeShop(Long marketId, Long shopId) {
+        generation(marketId).incrementAndGet();
+        MarketShopIndex index = markets.get(marketId);
+        if (index != null) index.remove(shopId);
+    }
+
+    public void removeMarket(Long marketId) {
+        generation(marketId).incrementAndGet();
+        markets.remove(marketId);
+    }
+
+    /** 찜 수 변경은 색인을 다시 읽지 않고 정렬 키만 갱신 */
+    public void adjustFavoriteCount(Long marketId, Long shopId, long delta) {
+        MarketShopIndex index = markets.get(marketId);
+        ShopDoc doc = index == null ? null : index.get(shopId);
+        if (doc != null) doc.favoriteCount = Math.max(0L, doc.favoriteCount + delta);
+    }
+
+    /**
+     * 적재된 시장 색인을 DB와 대조하는 백그라운드 검증.
+     * 놓친 변경이 있으면 경고를 남기고 새로 빌드한 색인으로 교체한다.
+     */
+    @Scheduled(fixedDelayString = "${search.shop.index.reconcile-interval-ms:600000}",
+            initialDelayString = "${search.shop.index.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        for (Long marketId : List.copyOf(markets.keySet())) {
+            long generation = generation(marketId).get();
+            MarketShopIndex rebuilt = build(marketId);
+            MarketShopIndex current = markets.get(marketId);
+            if (current == null || generation(marketId).get() != generation) continue;
+            if (!current.sameContentAs(rebuilt)) {
+                log.warn("Shop search index for market {} drifted from DB; replacing with rebuilt index", marketId);
+                markets.replace(marketId, current, rebuilt);
+            }
+        }
+    }
+
+    private MarketShopIndex marketIndex(Long marketId) {
+        MarketShopIndex index = markets.get(marketId);
+        if (index != null) return index;
+
+        // 빌드 도중 변경이 커밋되면 세대가 바뀌므로, 낡은 색인은 캐시하지 않는다
+        long generation = generation(marketId).get();
+        MarketShopIndex built = build(marketId);
+        if (generation(marketId).get() == generation) {
+            MarketShopIndex existing = markets.putIfAbsent(marketId, built);
+            if (existing != null) return existing;
+        }
+        return built;
+    }
+
+    private MarketShopIndex build(Long marketId) {
+        Map<Long, Map<SearchField, List<String>>> fields = new HashMap<>();
+        for (Object[] row : categoryRepository.findShopCategoryNamesByMarketId(marketId)) {
+            addText(fieldsOf(fields, (Long) row[0]), SearchField.CATEGORY, (String) row[1]);
+        }
+        for (Object[] row : itemRepository.findItemTextsByMarketId(marketId)) {
+            addText(fieldsOf(fields, (Long) row[0]), SearchField.ITEM_NAME, (String) row[1]);
+            addText(fieldsOf(fields, (Long) row[0]), SearchField.DESCRIPTION, (String) row[2]);
+        }
+
+        MarketShopIndex index = new MarketShopIndex();
+        for (Shop shop : shopRepository.findAllByMarket_MarketId(marketId)) {
+            index.put(toDoc(shop, fieldsOf(fields, shop.getShopId())));
+        }
+        return index;
+    }
+
+    private ShopDoc toDoc(Shop shop, Map<SearchField, List<String>> fields) {
+        addText(fields, SearchField.NAME, shop.getName());
+        addText(fields, SearchField.DESCRIPTION, shop.getDescription());
+        // 조회 순서와 무관하게 같은 문서가 되도록 정렬 (reconcile 비교용)
+        Map<SearchField, List<String>> sorted = new EnumMap<>(SearchField.class);
+        fields.forEach((field, texts) -> sorted.put(field, texts.stream().sorted().toList()));
+        // 찜 수는 이벤트로 바로 반영되므로, DB 에서 다시 만들 때도 미반영분을 더해야 reconcile 이 어긋나지 않는다
+        return new ShopDoc(shop.getShopId(), shop.getName(), shop.getCreatedAt(),
+                favoriteCounter.current(shop.getShopId(), shop.getFavoriteCount()),
+                shop.getRating().getAverage(), shop.getRating().getCount(), sorted);
+    }
+
+    private AtomicLong generation(Long marketId) {
+        return generations.computeIfAbsent(marketId, id -> new AtomicLong());
+    }
+
+    private static Map<SearchField, List<String>> fieldsOf(Map<Long, Map<SearchField, List<String>>> fields, Long shopId) {
+        return fields.computeIfAbsent(shopId, id -> new EnumMap<>(SearchField.class));
+    }
+
+    private static void addText(Map<SearchField, List<String>> fields, SearchField field, String text) {
+        String normalized = NGrams.normalize(text);
+        if (!normalized.isEmpty()) fields.computeIfAbsent(field, f -> new ArrayList<>()).add(normalized);
+    }
+
+    /**
+     * SearchUtils.sortByPageableShop 과 같은 정렬 키에 score(BM25) 를 더한 규칙.
+     * 정렬 조건이 없으면 score 내림차순 → 이름순.
+     */
+    static Comparator<SearchHit> comparator(Sort sort) {
+        Comparator<SearchHit> byName = Comparator.comparing(h -> h.doc().name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+        Comparator<SearchHit> byScore = Comparator.comparingDouble(SearchHit::score);
+        Comparator<SearchHit> comp = null;
+        if (sort != null) {
+            for (Sort.Order order : sort) {
+                Comparator<SearchHit> c = switch (order.getProperty()) {
+                    case "score" -> byScore;
+                    case "favoriteCount" -> Comparator.comparingLong(h -> h.doc().favoriteCount);
+                    case "ratingAverage" -> Comparator.comparingDouble(h -> h.doc().ratingAverage);
+                    case "ratingCount" -> Comparator.comparingLong(h -> h.doc().ratingCount);
+                    case "name" -> byName;
+                    case "createdAt" -> Comparator.comparing(h -> h.doc().createdAt, Comparator.nullsLast(Comparator.naturalOrder()));
+                    default -> null;
+                };
+                if (c != null) {
+                    if (order.isDescending()) c = c.reversed();
+                    comp = (comp == null) ? c : comp.thenComparing(c);
+                }
+            }
+        }
+        if (comp == null) comp = byScore.reversed().thenComparing(byName);
+        return comp.thenComparing(h -> h.doc().shopId, Comparator.nullsLast(Long::compareTo));
+    }
+}
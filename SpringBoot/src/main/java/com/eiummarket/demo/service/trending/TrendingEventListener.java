@@ -0,0 +1,44 @@
+package com.eiummarket.demo.service.trending;
+
+import com.eiummarket.demo.event.*;
+import com.eiummarket.demo.service.trending.TrendingShops.Signal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 커밋된 찜/리뷰 활동을 인기 순위에 더하고, 삭제된 상점·시장을 순위에서 뺀다.
+ * 상점 상세 조회는 이벤트 없이 {@link com.eiummarket.demo.service.ShopService#recordView} 가 바로 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrendingEventListener {
+
+    private final TrendingShops trendingShops;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        trendingShops.record(event.getMarketId(), event.getShopId(), Signal.LIKE, event.getDelta());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.getType() == ChangeType.CREATED) {
+            trendingShops.record(event.getMarketId(), event.getShopId(), Signal.REVIEW, 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShopChanged(ShopChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            trendingShops.removeShop(event.getMarketId(), event.getShopId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMarketChanged(MarketChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            trendingShops.removeMarket(event.getMarketId());
+        }
+    }
+}
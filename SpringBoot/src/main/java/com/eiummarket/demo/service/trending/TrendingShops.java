@@ -0,0 +1,180 @@
+package com.eiummarket.demo.service.trending;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 시장별 인기 상점 순위 (최근 7일 슬라이딩 윈도우).
+ * 상점마다 1시간 버킷 168개짜리 링 버퍼에 활동 점수(조회·찜·리뷰 가중치)를 더하고, 창 안의 합을 점수로 쓴다.
+ * 점수가 바뀔 때마다 점수순 정렬 집합을 함께 고치므로(O(log n)) 상위 K개는 앞에서 K개만 읽는다.
+ * 창 밖으로 밀려난 버킷은 매 정시 {@link #advance()} 가 빼낸다.
+ * 인스턴스 메모리에만 두므로 재시작하면 빈 순위에서 시작하고, 인스턴스마다 자기가 받은 활동만 센다.
+ */
+@Component
+public class TrendingShops {
+
+    public enum Signal { VIEW, LIKE, REVIEW }
+
+    static final int BUCKETS = 7 * 24;
+    private static final long HOUR_MS = 3_600_000L;
+
+    private final ConcurrentMap<Long, Board> boards = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final Map<Signal, Long> weights = new EnumMap<>(Signal.class);
+
+    @Autowired
+    public TrendingShops(@Value("${trending.weight.view:1}") long viewWeight,
+                         @Value("${trending.weight.like:5}") long likeWeight,
+                         @Value("${trending.weight.review:10}") long reviewWeight) {
+        this(Clock.systemUTC(), viewWeight, likeWeight, reviewWeight);
+    }
+
+    TrendingShops(Clock clock, long viewWeight, long likeWeight, long reviewWeight) {
+        this.clock = clock;
+        weights.put(Signal.VIEW, viewWeight);
+        weights.put(Signal.LIKE, likeWeight);
+        weights.put(Signal.REVIEW, reviewWeight);
+    }
+
+    /** count 는 음수일 수 있다 (찜 취소) */
+    public void record(Long marketId, Long shopId, Signal signal, long count) {
+        long delta = weights.get(signal) * count;
+        if (delta == 0) return;
+        boards.computeIfAbsent(marketId, id -> new Board()).add(shopId, currentHour(), delta);
+    }
+
+    /** 점수가 높은 순으로 최대 limit 개의 상점 ID (점수가 0 이하인 상점은 제외) */
+    public List<Long> top(Long marketId, int limit) {
+        Board board = boards.get(marketId);
+        return board == null ? List.of() : board.top(limit);
+    }
+
+    /** 현재 창 기준 점수 */
+    public long score(Long marketId, Long shopId) {
+        Board board = boards.get(marketId);
+        return board == null ? 0L : board.score(shopId);
+    }
+
+    public void removeShop(Long marketId, Long shopId) {
+        Board board = boards.get(marketId);
+        if (board != null) board.remove(shopId);
+    }
+
+    public void removeMarket(Long marketId) {
+        boards.remove(marketId);
+    }
+
+    /** 정시마다 창에서 빠진 버킷을 빼고 순위를 다시 맞춘다 */
+    @Scheduled(cron = "${trending.advance-cron:0 0 * * * *}")
+    public void advance() {
+        long hour = currentHour();
+        boards.values().forEach(board -> board.advance(hour));
+    }
+
+    private long currentHour() {
+        return clock.millis() / HOUR_MS;
+    }
+
+    /** 한 시장의 상점별 윈도우와 점수순 집합. 둘은 항상 함께 고치므로 보드 단위로 잠근다 */
+    private static final class Board {
+
+        private static final Comparator<Window> BY_SCORE =
+                Comparator.comparingLong((Window w) -> -w.score).thenComparingLong(w -> w.shopId);
+
+        private final Map<Long, Window> windows = new HashMap<>();
+        /** 점수가 양수인 윈도우만 담는다. 점수를 바꾸기 전에 빼고, 바꾼 뒤 다시 넣는다 */
+        private final TreeSet<Window> ranking = new TreeSet<>(BY_SCORE);
+
+        synchronized void add(Long shopId, long hour, long delta) {
+            Window window = windows.computeIfAbsent(shopId, Window::new);
+            ranking.remove(window);
+            window.slideTo(hour);
+            window.add(hour, delta);
+            reindex(window);
+        }
+
+        synchronized List<Long> top(int limit) {
+            List<Long> ids = new ArrayList<>(Math.min(limit, ranking.size()));
+            for (Window window : ranking) {
+                if (ids.size() >= limit) break;
+                ids.add(window.shopId);
+            }
+            return ids;
+        }
+
+        synchronized long score(Long shopId) {
+            Window window = windows.get(shopId);
+            return window == null ? 0L : window.score;
+        }
+
+        synchronized void remove(Long shopId) {
+            Window window = windows.remove(shopId);
+            if (window != null) ranking.remove(window);
+        }
+
+        synchronized void advance(long hour) {
+            for (Window window : List.copyOf(windows.values())) {
+                ranking.remove(window);
+                window.slideTo(hour);
+                reindex(window);
+            }
+        }
+
+        private void reindex(Window window) {
+            if (window.score > 0) {
+                ranking.add(window);
+            } else if (window.isEmpty()) {
+                windows.remove(window.shopId);
+            }
+        }
+    }
+
+    /** 상점 하나의 시간별 점수 링 버퍼. 슬롯 번호는 (시각 % BUCKETS) */
+    private static final class Window {
+
+        final long shopId;
+        final long[] buckets = new long[BUCKETS];
+        /** 마지막으로 창을 맞춘 시각(시 단위) */
+        long newestHour = -1;
+        /** 창 안 버킷의 합 */
+        long score;
+
+        Window(Long shopId) {
+            this.shopId = shopId;
+        }
+
+        /** hour 를 최신 버킷으로 두고, 그사이 창 밖으로 나간 버킷을 비운다 */
+        void slideTo(long hour) {
+            if (newestHour < 0) {
+                newestHour = hour;
+                return;
+            }
+            long steps = Math.min(hour - newestHour, BUCKETS);
+            for (long h = newestHour + 1; h <= newestHour + steps; h++) {
+                int slot = (int) (h % BUCKETS);
+                score -= buckets[slot];
+                buckets[slot] = 0;
+            }
+            newestHour = Math.max(newestHour, hour);
+        }
+
+        void add(long hour, long delta) {
+            buckets[(int) (hour % BUCKETS)] += delta;
+            score += delta;
+        }
+
+        boolean isEmpty() {
+            for (long bucket : buckets) {
+                if (bucket != 0) return false;
+            }
+            return true;
+        }
+    }
+}
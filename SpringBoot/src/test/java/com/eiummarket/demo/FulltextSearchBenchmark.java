@@ -0,0 +1,127 @@
+package com.eiummarket.demo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.*;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * LIKE '%kw%' 와 FULLTEXT(ngram) MATCH ... AGAINST 검색 비교용 벤치마크.
+ * 별도 테이블(bench_item)에 상품 10만 건 이상을 채운 뒤 같은 키워드로 두 방식을 반복 측정한다.
+ * 실제 검색처럼 이름 LIKE 와 섞은 경우도 OR 한 WHERE 와 UNION(ShopRepositoryCustomImpl 의 형태) 두 가지로 잰다.
+ * MySQL 8 이 필요하며 환경변수를 지정했을 때만 실행된다.
+ *   BENCH_MYSQL_URL=jdbc:mysql://localhost:3306/eium BENCH_MYSQL_USER=root BENCH_MYSQL_PASSWORD=... ./gradlew test --tests '*FulltextSearchBenchmark'
+ */
+@EnabledIfEnvironmentVariable(named = "BENCH_MYSQL_URL", matches = ".+")
+class FulltextSearchBenchmark {
+
+    private static final int ITEM_COUNT = Integer.parseInt(System.getenv().getOrDefault("BENCH_ITEM_COUNT", "120000"));
+    private static final int ROUNDS = 20;
+    private static final List<String> KEYWORDS = List.of("상추", "김밥", "국산 감자", "수제");
+
+    private static final String[] WORDS = {
+            "상추", "감자", "고구마", "김밥", "떡볶이", "순대", "어묵", "사과", "배추", "무", "대파", "양파",
+            "국산", "수제", "신선한", "매일", "아침", "직접", "만든", "제철", "저렴한", "맛있는", "유기농", "할머니"
+    };
+
+    @Test
+    void compareLikeAndFulltext() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(
+                System.getenv("BENCH_MYSQL_URL"),
+                System.getenv().getOrDefault("BENCH_MYSQL_USER", "root"),
+                System.getenv().getOrDefault("BENCH_MYSQL_PASSWORD", ""))) {
+            seed(conn);
+
+            for (String keyword : KEYWORDS) {
+                long likeCount = count(conn, "SELECT COUNT(*) FROM bench_item WHERE description LIKE ?", "%" + keyword + "%");
+                long ftCount = count(conn, "SELECT COUNT(*) FROM bench_item WHERE MATCH(description) AGAINST (? IN BOOLEAN MODE)",
+                        "\"" + keyword + "\"");
+                double likeMs = measure(conn, "SELECT id FROM bench_item WHERE description LIKE ? LIMIT 20", "%" + keyword + "%");
+                double ftMs = measure(conn, "SELECT id FROM bench_item WHERE MATCH(description) AGAINST (? IN BOOLEAN MODE) LIMIT 20",
+                        "\"" + keyword + "\"");
+                double likeCountMs = measure(conn, "SELECT COUNT(*) FROM bench_item WHERE description LIKE ?", "%" + keyword + "%");
+                double ftCountMs = measure(conn, "SELECT COUNT(*) FROM bench_item WHERE MATCH(description) AGAINST (? IN BOOLEAN MODE)",
+                        "\"" + keyword + "\"");
+
+                // 이름 LIKE 와 섞은 형태: OR 로 묶으면 FULLTEXT 인덱스를 못 타고, UNION 이면 갈래마다 탄다
+                double orMs = measure(conn, "SELECT id FROM bench_item WHERE name LIKE ? OR MATCH(description) AGAINST (? IN BOOLEAN MODE)",
+                        "%" + keyword + "%", "\"" + keyword + "\"");
+                double unionMs = measure(conn, "SELECT id FROM bench_item WHERE name LIKE ? "
+                                + "UNION SELECT id FROM bench_item WHERE MATCH(description) AGAINST (? IN BOOLEAN MODE)",
+                        "%" + keyword + "%", "\"" + keyword + "\"");
+
+                System.out.printf("[%s] matches like=%d fulltext=%d | page20 like=%.2fms fulltext=%.2fms | count like=%.2fms fulltext=%.2fms"
+                                + " | name+description or=%.2fms union=%.2fms%n",
+                        keyword, likeCount, ftCount, likeMs, ftMs, likeCountMs, ftCountMs, orMs, unionMs);
+                // 공백 없는 2글자 이상 키워드는 두 방식의 결과 건수가 같아야 한다
+                if (!keyword.contains(" ")) assertEquals(likeCount, ftCount, "match count differs for " + keyword);
+            }
+        }
+    }
+
+    private static void seed(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_item");
+            st.execute("CREATE TABLE bench_item (id BIGINT PRIMARY KEY AUTO_INCREMENT, name VARCHAR(255) NOT NULL, description TEXT) "
+                    + "DEFAULT CHARSET = utf8mb4");
+        }
+        Random random = new Random(42);
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO bench_item (name, description) VALUES (?, ?)")) {
+            for (int i = 1; i <= ITEM_COUNT; i++) {
+                ps.setString(1, WORDS[random.nextInt(WORDS.length)] + " " + i);
+                StringBuilder description = new StringBuilder();
+                for (int w = 0, n = 8 + random.nextInt(16); w < n; w++) {
+                    description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                }
+                ps.setString(2, description.toString().trim());
+                ps.addBatch();
+                if (i % 5000 == 0) {
+                    ps.executeBatch();
+                    conn.commit();
+                }
+            }
+            ps.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        try (Statement st = conn.createStatement()) {
+            st.execute("ALTER TABLE bench_item ADD FULLTEXT INDEX ft_bench_item_description (description) WITH PARSER ngram");
+            st.execute("ANALYZE TABLE bench_item");
+        }
+    }
+
+    private static long count(Connection conn, String sql, String param) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, param);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    /** 1회 워밍업 후 ROUNDS 회 평균 (ms) */
+    private static double measure(Connection conn, String sql, String... params) throws SQLException {
+        run(conn, sql, params);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) run(conn, sql, params);
+        return (System.nanoTime() - start) / 1_000_000.0 / ROUNDS;
+    }
+
+    private static void run(Connection conn, String sql, String... params) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) ps.setString(i + 1, params[i]);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rs.getLong(1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.eiummarket.demo.controller;
+
+import com.eiummarket.demo.dto.*;
+import com.eiummarket.demo.model.Shop;
+import com.eiummarket.demo.service.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.eiummarket.demo.support.QueryBudget.assertAtMost;
+import static com.eiummarket.demo.support.QueryBudget.assertNotModifiedWithin;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * com.eiummarket.demo.controller 의 조회 엔드포인트별 SQL 문 수 상한.
+ * 목록은 페이지 크기와 무관하게 고정된 수의 쿼리로 끝나야 하므로, 여러 건을 채운 뒤 예산을 확인한다.
+ * 스키마를 만들고 지우므로 전용 DB를 환경변수로 지정했을 때만 실행된다.
+ *   QUERY_BUDGET_DB_URL=jdbc:mysql://localhost:3306/eium_test QUERY_BUDGET_DB_USER=root QUERY_BUDGET_DB_PASSWORD=... ./gradlew test --tests '*EndpointQueryBudgetTests'
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "ai.flask.server.url=http://localhost:0",
+        "webclient.max-buffer-size=10MB"
+})
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "QUERY_BUDGET_DB_URL", matches = ".+")
+class EndpointQueryBudgetTests {
+
+    private static final int ROWS = 5;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("QUERY_BUDGET_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("QUERY_BUDGET_DB_USER", "root"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("QUERY_BUDGET_DB_PASSWORD", ""));
+    }
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MarketService marketService;
+    @Autowired ShopService shopService;
+    @Autowired ItemService itemService;
+    @Autowired CategoryService categoryService;
+    @Autowired FavoriteService favoriteService;
+    @Autowired ReviewService reviewService;
+    @Autowired FavoriteCounter favoriteCounter;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    Long marketId;
+    Long categoryId;
+    Long shopId;
+    Long itemId;
+    Long reviewId;
+
+    @BeforeEach
+    void seed() {
+        marketId = marketService.create(MarketDto.CreateRequest.builder()
+                .name("예산시장" + System.nanoTime()).address("서울")
+                .latitude(new BigDecimal("37.5")).longitude(new BigDecimal("126.9"))
+                .imageUrls(List.of("http://img/m.png")).build()).getMarketId();
+        categoryId = categoryService.addCategory(CategoryDto.CreateRequest.builder().name("분식" + System.nanoTime()).build()).getCategoryId();
+        for (int i = 0; i < ROWS; i++) {
+            Long id = shopService.createShop(marketId, ShopDto.CreateRequest.builder()
+                    .name("가게" + i).categoryIds(List.of(categoryId))
+                    .latitude(new BigDecimal("37.5")).longitude(new BigDecimal("126.9"))
+                    .imageUrls(List.of("http://img/s" + i + ".png")).build()).getShopId();
+            for (int j = 0; j < ROWS; j++) {
+                Long item = itemService.createItem(marketId, id, ItemDto.CreateRequest.builder()
+                        .name("상품" + j).price(1000).imageUrls(List.of("http://img/i" + j + ".png")).build()).getItemId();
+                reviewId = reviewService.createReview(ReviewDto.CreateRequest.builder()
+                        .userId(1).shopId(id).rating(5).content("좋아요").imageUrls(List.of("http://img/r.png")).build()).getReviewId();
+                reviewService.createReview(ReviewDto.CreateRequest.builder()
+                        .userId(1).itemId(item).rating(4).content("괜찮아요").build());
+                itemId = item;
+            }
+            favoriteService.likeShop(marketId, id);
+            shopId = id;
+        }
+        // ETag 에는 저장된 찜 수가 들어가므로, 예약된 flush 가 검사 도중 ETag 를 바꾸지 않도록 미리 반영한다
+        favoriteCounter.flush();
+    }
+
+    @Test
+    void marketEndpoints() throws Exception {
+        // 한 페이지에 다 들어오면 전체 개수를 세지 않는다
+        assertAtMost(mockMvc, get("/markets"), 2);
+        assertAtMost(mockMvc, get("/markets/scroll").param("sort", "createdAt,desc"), 2);
+        assertAtMost(mockMvc, get("/markets/{marketId}", marketId), 3);
+        assertAtMost(mockMvc, get("/markets/search").param("search", "예산"), 5);
+        assertAtMost(mockMvc, get("/markets/nearby").param("lat", "37.5").param("lng", "126.9"), 2);
+        assertAtMost(mockMvc, get("/markets/check-exist").param("name", "없는시장"), 1);
+    }
+
+    @Test
+    void shopEndpoints() throws Exception {
+        assertAtMost(mockMvc, get("/markets/{marketId}/shops", marketId), 2);
+        assertAtMost(mockMvc, get("/markets/{marketId}/shops", marketId).param("categoryId", categoryId.toString()), 3);
+        assertAtMost(mockMvc, get("/markets/{marketId}/shops/scroll", marketId).param("sort", "favoriteCount,desc").param("size", "1"), 2);
+        assertAtMost(mockMvc, get("/markets/{marketId}/shops/scroll", marketId).param("categoryId", categoryId.toString()), 3);
+        assertAtMost(mockMvc, get("/markets/{marketId}/shops/{shopId}", marketId, shopId), 6);
+        assertAtMost(mockMvc, get("/markets/{marketId}/shops/trending", marketId), 2);
+        assertAtMost(mockMvc, get("/markets/{marketId}/shops/search", marketId).param("keyword", "가게"), 5);
+        assertAtMost(mockMvc, get("/markets/{marketId}/shops/autocomplete", marketId).param("prefix", "가"), 4);
+    }
+
+    @Test
+    void itemEndpoints() throws Exception {
+        assertAtMost(mockMvc, get("/markets/{marketId}/shops/{shopId}/items/{itemId}", marketId, shopId, itemId), 4);
+        assertAtMost(mockMvc, get("/items").param("marketId", marketId.toString()).param("shopId", shopId.toString()), 4);
+    }
+
+    @Test
+    void conditionalDetailEndpoints() throws Exception {
+        for (var request : List.of(
+                get("/markets/{marketId}", marketId),
+                get("/markets/{marketId}/shops/{shopId}", marketId, shopId),
+                get("/markets/{marketId}/shops/{shopId}/items/{itemId}", marketId, shopId, itemId))) {
+            String etag = assertAtMost(mockMvc, request, 6).getResponse().getHeader("ETag");
+            assertThat(etag).isNotBlank();
+            // 변경이 없으면 버전 조회 한 번으로 끝난다
+            assertNotModifiedWithin(mockMvc, request.header("If-None-Match", etag), 1);
+        }
+
+        // 상품이 바뀌면 상품과 상점 상세의 ETag 가 모두 바뀐다
+        String shopETag = mockMvc.perform(get("/markets/{marketId}/shops/{shopId}", marketId, shopId)).andReturn().getResponse().getHeader("ETag");
+        String itemETag = mockMvc.perform(get("/markets/{marketId}/shops/{shopId}/items/{itemId}", marketId, shopId, itemId)).andReturn().getResponse().getHeader("ETag");
+        itemService.updateItem(itemId, ItemDto.UpdateRequest.builder().imageUrls(List.of("http://img/new.png")).build());
+        assertAtMost(mockMvc, get("/markets/{marketId}/shops/{shopId}", marketId, shopId).header("If-None-Match", shopETag), 6);
+        assertAtMost(mockMvc, get("/markets/{marketId}/shops/{shopId}/items/{itemId}", marketId, shopId, itemId).header("If-None-Match", itemETag), 4);
+    }
+
+    @Test
+    void shopCategoriesSurviveCounterWrites() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String role = Shop.class.getName() + ".categories";
+        shopService.getShop(marketId, shopId);
+
+        // 찜 수·별점 갱신은 JDBC 로 쓰므로 shop-categories 리전을 비우지 않는다
+        favoriteService.likeShop(marketId, shopId);
+        favoriteCounter.flush();
+        reviewService.createReview(ReviewDto.CreateRequest.builder()
+                .userId(2).shopId(shopId).rating(3).content("보통").build());
+
+        stats.clear();
+        shopService.getShop(marketId, shopId);
+        assertThat(stats.getCollectionStatistics(role).getFetchCount()).isZero();
+        assertThat(stats.getCollectionStatistics(role).getCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void categoryEndpoints() throws Exception {
+        assertAtMost(mockMvc, get("/markets/{marketId}/categories", marketId), 1);
+    }
+
+    @Test
+    void favoriteEndpoints() throws Exception {
+        assertAtMost(mockMvc, get("/markets/{marketId}/favorites", marketId), 4);
+    }
+
+    @Test
+    void reviewEndpoints() throws Exception {
+        assertAtMost(mockMvc, get("/reviews/{reviewId}", reviewId), 2);
+        assertAtMost(mockMvc, get("/shops/{shopId}/reviews", shopId), 3);
+        assertAtMost(mockMvc, get("/items/{itemId}/reviews", itemId), 3);
+        // 커서 목록은 COUNT 없이 리뷰 한 번 + 이미지 한 번
+        assertAtMost(mockMvc, get("/shops/{shopId}/reviews/scroll", shopId).param("size", "2"), 2);
+        assertAtMost(mockMvc, get("/items/{itemId}/reviews/scroll", itemId), 2);
+    }
+
+    @Test
+    void imageEndpoints() throws Exception {
+        assertAtMost(mockMvc, get("/images").param("marketId", marketId.toString()).param("shopId", shopId.toString()), 2);
+    }
+
+    @Test
+    void mapEndpoints() throws Exception {
+        assertAtMost(mockMvc, get("/map/clusters").param("bbox", "126,37,128,38").param("zoom", "12"), 2);
+    }
+}
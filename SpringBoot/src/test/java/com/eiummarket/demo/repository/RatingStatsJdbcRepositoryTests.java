@@ -0,0 +1,110 @@
+package com.eiummarket.demo.repository;
+
+import com.eiummarket.demo.model.Item;
+import com.eiummarket.demo.model.Market;
+import com.eiummarket.demo.model.RatingStats;
+import com.eiummarket.demo.model.Shop;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 리뷰 생성→수정→삭제 순서로 별점을 더하고 빼도 개수·합·평균·별점별 개수가 서로 맞는지 확인한다.
+ * EndpointQueryBudgetTests 와 같은 전용 DB 를 환경변수로 지정했을 때만 실행된다.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RatingStatsJdbcRepository.class)
+@EnabledIfEnvironmentVariable(named = "QUERY_BUDGET_DB_URL", matches = ".+")
+class RatingStatsJdbcRepositoryTests {
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("QUERY_BUDGET_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("QUERY_BUDGET_DB_USER", "root"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("QUERY_BUDGET_DB_PASSWORD", ""));
+    }
+
+    @Autowired RatingStatsJdbcRepository ratings;
+    @Autowired TestEntityManager em;
+
+    Long shopId;
+    Long itemId;
+
+    @BeforeEach
+    void seed() {
+        Market market = em.persist(Market.builder().name("평점시장" + System.nanoTime()).address("서울").build());
+        Shop shop = em.persist(Shop.builder().market(market).name("김밥천국").favoriteCount(0L).build());
+        Item item = em.persist(Item.builder().shop(shop).name("참치김밥").price(3000).build());
+        em.flush();
+        shopId = shop.getShopId();
+        itemId = item.getItemId();
+    }
+
+    @Test
+    void shopAggregatesStayConsistentThroughCreateUpdateDelete() {
+        // 생성: 5점, 3점
+        ratings.addShopRating(shopId, 5, 1);
+        ratings.addShopRating(shopId, 3, 1);
+        assertShop(2, 8, 4.0, List.of(0L, 0L, 1L, 0L, 1L));
+
+        // 수정: 5점 → 2점
+        ratings.addShopRating(shopId, 5, -1);
+        ratings.addShopRating(shopId, 2, 1);
+        assertShop(2, 5, 2.5, List.of(0L, 1L, 1L, 0L, 0L));
+
+        // 삭제
+        ratings.addShopRating(shopId, 3, -1);
+        assertShop(1, 2, 2.0, List.of(0L, 1L, 0L, 0L, 0L));
+        ratings.addShopRating(shopId, 2, -1);
+        assertShop(0, 0, 0.0, List.of(0L, 0L, 0L, 0L, 0L));
+    }
+
+    @Test
+    void itemAggregatesStayConsistentThroughCreateUpdateDelete() {
+        ratings.addItemRating(itemId, 4, 1);
+        ratings.addItemRating(itemId, 1, 1);
+        ratings.addItemRating(itemId, 1, -1);
+        ratings.addItemRating(itemId, 5, 1);
+        em.clear();
+        RatingStats stats = em.find(Item.class, itemId).getRating();
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getSum()).isEqualTo(9);
+        assertThat(stats.getAverage()).isEqualTo(4.5);
+        assertThat(stats.histogram()).containsExactly(0L, 0L, 0L, 1L, 1L);
+
+        ratings.addItemRating(itemId, 4, -1);
+        ratings.addItemRating(itemId, 5, -1);
+        em.clear();
+        assertThat(em.find(Item.class, itemId).getRating().histogram()).containsOnly(0L);
+        assertThat(em.find(Item.class, itemId).getRating().getAverage()).isZero();
+    }
+
+    @Test
+    void rejectsStarOutOfRange() {
+        assertThatThrownBy(() -> ratings.addShopRating(shopId, 6, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertShop(long count, long sum, double average, List<Long> histogram) {
+        em.clear();
+        RatingStats stats = em.find(Shop.class, shopId).getRating();
+        assertThat(stats.getCount()).isEqualTo(count);
+        assertThat(stats.getSum()).isEqualTo(sum);
+        assertThat(stats.getAverage()).isEqualTo(average);
+        assertThat(stats.histogram()).containsExactlyElementsOf(histogram);
+        // 집계 컬럼끼리도 맞아야 한다
+        assertThat(stats.histogram().stream().mapToLong(Long::longValue).sum()).isEqualTo(stats.getCount());
+    }
+}
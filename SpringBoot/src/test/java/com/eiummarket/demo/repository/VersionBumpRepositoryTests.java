@@ -0,0 +1,118 @@
+package com.eiummarket.demo.repository;
+
+import com.eiummarket.demo.dto.MarketDto;
+import com.eiummarket.demo.dto.ReviewDto;
+import com.eiummarket.demo.dto.ShopDto;
+import com.eiummarket.demo.model.Shop;
+import com.eiummarket.demo.service.MarketService;
+import com.eiummarket.demo.service.ReviewService;
+import com.eiummarket.demo.service.ShopService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 상점의 버전을 다른 트랜잭션이 먼저 올려도 bumpVersion 이 실패하지 않고 이어서 올리는지 확인한다.
+ * 스키마를 만들고 지우므로 전용 DB를 환경변수로 지정했을 때만 실행된다.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "ai.flask.server.url=http://localhost:0",
+        "webclient.max-buffer-size=10MB"
+})
+@EnabledIfEnvironmentVariable(named = "QUERY_BUDGET_DB_URL", matches = ".+")
+class VersionBumpRepositoryTests {
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("QUERY_BUDGET_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("QUERY_BUDGET_DB_USER", "root"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("QUERY_BUDGET_DB_PASSWORD", ""));
+    }
+
+    @Autowired ShopRepository shopRepository;
+    @Autowired MarketService marketService;
+    @Autowired ShopService shopService;
+    @Autowired ReviewService reviewService;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    Long marketId;
+    Long shopId;
+
+    @BeforeEach
+    void seed() {
+        marketId = marketService.create(MarketDto.CreateRequest.builder().name("버전시장" + System.nanoTime()).address("서울").build()).getMarketId();
+        shopId = shopService.createShop(marketId, ShopDto.CreateRequest.builder().name("버전가게").build()).getShopId();
+    }
+
+    @Test
+    void bumpSucceedsAfterAnotherTransactionBumpedFirst() {
+        long before = version();
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        outer.executeWithoutResult(status -> {
+            Shop shop = shopRepository.findById(shopId).orElseThrow();
+            shop.setDescription("바뀐 설명");
+            inner.executeWithoutResult(s -> shopRepository.bumpVersion(shopRepository.findById(shopId).orElseThrow()));
+
+            shopRepository.bumpVersion(shop);
+            // 낡은 버전으로 읽은 엔티티의 변경도 flush 에서 버전 충돌 없이 반영된다
+            shopRepository.flush();
+        });
+
+        assertThat(version()).isGreaterThanOrEqualTo(before + 2);
+        assertThat(shopRepository.findById(shopId).orElseThrow().getDescription()).isEqualTo("바뀐 설명");
+    }
+
+    @Test
+    void concurrentReviewsOnSameShopAllSucceed() throws Exception {
+        int writers = 4, perWriter = 3;
+        long before = version();
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int user = w + 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perWriter; i++) {
+                        reviewService.createReview(ReviewDto.CreateRequest.builder()
+                                .userId(user).shopId(shopId).rating(1 + i).content("동시 리뷰").build());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        Shop shop = shopRepository.findById(shopId).orElseThrow();
+        assertThat(shop.getRating().getCount()).isEqualTo(writers * perWriter);
+        assertThat(version()).isEqualTo(before + writers * perWriter);
+    }
+
+    private long version() {
+        return (Long) shopRepository.findVersionRow(marketId, shopId).get(0)[0];
+    }
+}
@@ -0,0 +1,84 @@
+package com.eiummarket.demo.service;
+
+import com.eiummarket.demo.event.ChangeType;
+import com.eiummarket.demo.event.ShopChangedEvent;
+import com.eiummarket.demo.repository.FavoriteCountJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * FavoriteCounter 의 flush 가 커밋된 증감을 두 번 세지 않고, 실패하면 남기고, 삭제된 상점의 증감은 버리는지 확인한다.
+ */
+class FavoriteCounterTests {
+
+    FavoriteCountJdbcRepository repository = mock(FavoriteCountJdbcRepository.class);
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    FavoriteCounter counter = new FavoriteCounter(repository, transactionManager);
+
+    @BeforeEach
+    void transactions() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void flushedDeltaIsNotCountedTwiceAtCommit() {
+        counter.add(1L, 3);
+        AtomicLong beforeCommit = new AtomicLong();
+        AtomicLong seenAtCommit = new AtomicLong();
+        doAnswer(inv -> {
+            beforeCommit.set(counter.current(1L, 10L));
+            return null;
+        }).when(repository).addFavoriteCounts(any());
+        doAnswer(inv -> {
+            seenAtCommit.set(counter.current(1L, 13L));
+            return null;
+        }).when(transactionManager).commit(any());
+
+        counter.flush();
+
+        verify(repository).addFavoriteCounts(Map.of(1L, 3L));
+        assertThat(beforeCommit).as("쓰는 동안에는 in-flight 증감을 더한다").hasValue(13);
+        assertThat(seenAtCommit).as("커밋된 DB 값에 다시 더하지 않는다").hasValue(13);
+        assertThat(counter.current(1L, 13L)).isEqualTo(13);
+        // 반영한 증감은 다시 쓰지 않는다
+        counter.flush();
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void failedFlushKeepsPendingDelta() {
+        counter.add(1L, 2);
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+
+        counter.flush();
+        assertThat(counter.current(1L, 0L)).isEqualTo(2);
+
+        doNothing().when(transactionManager).commit(any());
+        counter.add(1L, 1);
+        counter.flush();
+        verify(repository).addFavoriteCounts(Map.of(1L, 3L));
+        assertThat(counter.current(1L, 3L)).isEqualTo(3);
+    }
+
+    @Test
+    void deltasOfDeletedShopsAreDropped() {
+        counter.add(1L, 2);
+        counter.add(2L, 5);
+
+        counter.onShopChanged(new ShopChangedEvent(1L, 2L, ChangeType.DELETED));
+        counter.flush();
+
+        verify(repository).addFavoriteCounts(Map.of(1L, 2L));
+        assertThat(counter.current(2L, 0L)).isZero();
+    }
+}
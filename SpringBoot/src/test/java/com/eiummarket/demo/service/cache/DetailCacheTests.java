@@ -0,0 +1,176 @@
+package com.eiummarket.demo.service.cache;
+
+import com.eiummarket.demo.config.RedisCacheConfig;
+import com.eiummarket.demo.dto.CategoryDto;
+import com.eiummarket.demo.dto.ItemDto;
+import com.eiummarket.demo.dto.ShopDto;
+import com.github.fppt.jedismock.RedisServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * DetailCache 를 내장 Redis 대역(jedis-mock)에 붙여 read-through, 토큰 검증, 삭제 전파, 장애 시 우회를 확인한다.
+ */
+class DetailCacheTests {
+
+    RedisServer server;
+    LettuceConnectionFactory connectionFactory;
+    DetailCache cache;
+
+    @BeforeEach
+    void start() throws Exception {
+        server = RedisServer.newRedisServer().start();
+        connectionFactory = connect(server.getBindPort());
+        cache = cacheOn(connectionFactory);
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        cache.stopListening();
+        connectionFactory.destroy();
+        if (server.isRunning()) server.stop();
+    }
+
+    @Test
+    void shopDetailIsReadThroughAndCheckedAgainstToken() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ShopDto.Response> loader = () -> {
+            loads.incrementAndGet();
+            return shop();
+        };
+
+        ShopDto.Response first = cache.shop(1L, "shop-1-3-0", loader);
+        ShopDto.Response second = cache.shop(1L, "shop-1-3-0", loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).usingRecursiveComparison().isEqualTo(first);
+
+        // 버전이 바뀌면 저장된 응답은 쓰지 않는다
+        cache.shop(1L, "shop-1-4-0", loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void itemPagesAreCachedPerPageableAndEvictedWithShop() {
+        AtomicInteger loads = new AtomicInteger();
+        PageRequest firstPage = PageRequest.of(0, 2);
+        PageRequest secondPage = PageRequest.of(1, 2);
+
+        cache.items(1L, firstPage, "shop-1-3", () -> items(loads, firstPage));
+        cache.items(1L, secondPage, "shop-1-3", () -> items(loads, secondPage));
+        Page<ItemDto.Response> cached = cache.items(1L, firstPage, "shop-1-3", () -> items(loads, firstPage));
+
+        assertThat(loads).hasValue(2);
+        assertThat(cached.getTotalElements()).isEqualTo(3);
+        assertThat(cached.getContent()).extracting(ItemDto.Response::getName).containsExactly("상품0", "상품1");
+
+        cache.evictShop(1L);
+        cache.items(1L, secondPage, "shop-1-3", () -> items(loads, secondPage));
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void evictionOnOneNodeClearsLocalCacheOnOthers() throws Exception {
+        LettuceConnectionFactory otherConnection = connect(server.getBindPort());
+        DetailCache other = cacheOn(otherConnection);
+        try {
+            AtomicInteger loads = new AtomicInteger();
+            Supplier<ShopDto.Response> loader = () -> {
+                loads.incrementAndGet();
+                return shop();
+            };
+
+            cache.shop(1L, "shop-1-3-0", loader);
+            // Redis 저장은 응답을 기다리지 않으므로 다른 노드가 읽기 전에 반영을 기다린다
+            var redis = new RedisCacheConfig().detailCacheRedisTemplate(connectionFactory);
+            await().atMost(Duration.ofSeconds(5)).until(() -> Boolean.TRUE.equals(redis.hasKey(DetailCache.shopKey(1L)).block()));
+            other.shop(1L, "shop-1-3-0", loader);
+            other.shop(1L, "shop-1-3-0", loader);
+            assertThat(loads).as("다른 노드는 Redis(L2), 그다음엔 L1 에서 읽는다").hasValue(1);
+
+            await().atMost(Duration.ofSeconds(5)).until(other::isListening);
+            cache.evictShop(1L);
+            await().atMost(Duration.ofSeconds(5)).until(() -> other.localSize() == 0);
+            other.shop(1L, "shop-1-3-0", loader);
+            assertThat(loads).hasValue(2);
+        } finally {
+            other.stopListening();
+            otherConnection.destroy();
+        }
+    }
+
+    @Test
+    void fallsBackToLoaderWhenRedisIsDown() throws Exception {
+        server.stop();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (long shopId = 1; shopId <= 3; shopId++) {
+            ShopDto.Response response = cache.shop(shopId, "shop-" + shopId + "-3-0", () -> {
+                loads.incrementAndGet();
+                return shop();
+            });
+            assertThat(response.getName()).isEqualTo("김밥천국");
+        }
+        assertThat(loads).hasValue(3);
+        // Redis 없이도 L1 은 계속 쓴다
+        cache.shop(1L, "shop-1-3-0", () -> {
+            loads.incrementAndGet();
+            return shop();
+        });
+        assertThat(loads).hasValue(3);
+    }
+
+    private static LettuceConnectionFactory connect(int port) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory("localhost", port);
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    private static DetailCache cacheOn(LettuceConnectionFactory factory) {
+        DetailCache cache = new DetailCache(new RedisCacheConfig().detailCacheRedisTemplate(factory), new SimpleMeterRegistry(),
+                new SingleFlight(new SimpleMeterRegistry(), Duration.ofSeconds(3)),
+                true, Duration.ofSeconds(2), Duration.ofSeconds(30),
+                Duration.ofMinutes(10), Duration.ofMinutes(30), Duration.ofMinutes(10),
+                1000, Duration.ofSeconds(30));
+        cache.startListening();
+        return cache;
+    }
+
+    private static ShopDto.Response shop() {
+        return ShopDto.Response.builder()
+                .shopId(1L).marketId(1L).name("김밥천국").floor("A-02호")
+                .latitude(new BigDecimal("37.559980")).longitude(new BigDecimal("126.978400"))
+                .createdAt(LocalDateTime.of(2025, 8, 13, 20, 15, 30)).favoriteCount(3L)
+                .items(List.of(ItemDto.Response.builder().itemId(10L).shopId(1L).name("참치김밥").price(3000)
+                        .imageUrls(List.of("http://img/1.png")).build()))
+                .categories(List.of(CategoryDto.Response.builder().categoryId(2L).name("분식").build()))
+                .imageUrls(List.of("http://img/s.png"))
+                .build();
+    }
+
+    private static Page<ItemDto.Response> items(AtomicInteger loads, PageRequest pageable) {
+        loads.incrementAndGet();
+        List<ItemDto.Response> all = List.of(0, 1, 2).stream()
+                .map(i -> ItemDto.Response.builder().itemId((long) i).shopId(1L).name("상품" + i).price(1000).build())
+                .toList();
+        int from = (int) pageable.getOffset();
+        return new PageImpl<>(all.subList(from, Math.min(from + pageable.getPageSize(), all.size())), pageable, all.size());
+    }
+}
@@ -0,0 +1,92 @@
+package com.eiummarket.demo.service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 동시에 들어온 같은 키의 조회가 한 번만 실행되고, 결과와 예외가 기다리던 요청에 그대로 전달되는지 확인한다.
+ */
+class SingleFlightTests {
+
+    static final int CALLERS = 16;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    SingleFlight singleFlight = new SingleFlight(registry, Duration.ofSeconds(5));
+
+    @Test
+    void concurrentCallsShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently(release, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "상점";
+        });
+
+        for (Future<String> result : results) assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("상점");
+        assertThat(loads).hasValue(1);
+        assertThat(registry.counter("single.flight.requests", "name", "shop", "result", "shared").count())
+                .isEqualTo(CALLERS - 1);
+
+        // 끝난 계산은 남기지 않으므로 다음 호출은 다시 실행한다
+        singleFlight.execute("shop", "1", loads::incrementAndGet);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void leaderFailureIsPropagatedToWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently(release, () -> {
+            await(release);
+            throw new IllegalArgumentException("Shop not found");
+        });
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalArgumentException.class)
+                    .hasRootCauseMessage("Shop not found");
+        }
+    }
+
+    /** CALLERS 개의 호출을 동시에 시작하고, 모두 leader 의 계산에 붙은 뒤 release 를 연다 */
+    private List<Future<String>> callConcurrently(CountDownLatch release, Supplier<String> loader) throws Exception {
+        CountDownLatch arrived = new CountDownLatch(CALLERS);
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    arrived.countDown();
+                    return singleFlight.execute("shop", "1", loader);
+                }));
+            }
+            assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(200);
+            release.countDown();
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.eiummarket.demo.service.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.eiummarket.demo.service.search.FuzzyDictionaryTests.doc;
+import static com.eiummarket.demo.service.search.FuzzyDictionaryTests.shopIds;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상점명 일치가 설명 일치보다 앞서는지, 시장 점수가 전체 시장 통계를 쓰는지, 정렬 조건이 없을 때 score 내림차순 → 이름순 → ID 순인지 확인한다.
+ */
+class Bm25Tests {
+
+    record Candidate(String name, String description) {}
+
+    @Test
+    void nameMatchOutranksDescriptionMatch() {
+        Candidate byName = new Candidate("김밥천국", "분식 전문");
+        Candidate byDescription = new Candidate("분식나라", "김밥 맛집");
+        List<Function<Candidate, String>> fields = List.of(Candidate::name, Candidate::description);
+
+        Map<Candidate, Double> scores = Bm25.scoreCandidates(List.of(byName, byDescription), "김밥", fields, new double[]{3.0, 1.0});
+        assertThat(scores.get(byName)).isGreaterThan(scores.get(byDescription));
+
+        // 1글자 키워드는 포함한 필드의 가중치 합
+        scores = Bm25.scoreCandidates(List.of(byName, byDescription), "김", fields, new double[]{3.0, 1.0});
+        assertThat(scores).containsEntry(byName, 3.0).containsEntry(byDescription, 1.0);
+    }
+
+    @Test
+    void marketCorpusScoresAgainstAllMarketsNotJustCandidates() {
+        MarketCorpus corpus = new MarketCorpus();
+        corpus.put(1L, "김밥시장", "분식 골목");
+        corpus.put(2L, "김밥골목", null);
+        for (long id = 3; id <= 10; id++) corpus.put(id, "시장" + id, "전통 시장");
+        List<Function<Candidate, String>> fields = List.of(Candidate::name, Candidate::description);
+        double[] boosts = {3.0, 1.0};
+        Candidate first = new Candidate("김밥시장", "분식 골목");
+        List<Candidate> candidates = List.of(first, new Candidate("김밥골목", null));
+
+        // 후보 둘 다 '김밥' 을 가져도 전체 10개 중 2개뿐이므로 idf 가 무너지지 않는다
+        double withCorpus = Bm25.score(candidates, "김밥", fields, boosts, corpus).get(first);
+        double candidatesOnly = Bm25.scoreCandidates(candidates, "김밥", fields, boosts).get(first);
+        assertThat(withCorpus).isGreaterThan(candidatesOnly);
+        assertThat(corpus.docCount()).isEqualTo(10);
+        assertThat(corpus.docFreq("김밥")).isEqualTo(2);
+
+        // 시장 교체/삭제 시 df 와 필드 길이 합도 함께 바뀐다
+        corpus.put(2L, "골목시장", null);
+        assertThat(corpus.docFreq("김밥")).isEqualTo(1);
+        corpus.remove(1L);
+        assertThat(corpus.docFreq("김밥")).isZero();
+        assertThat(corpus.docCount()).isEqualTo(9);
+        assertThat(corpus.avgLength(1)).isEqualTo(8.0 * 4 / 9);
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+        assertThat(Bm25.idf(10, 1)).isGreaterThan(Bm25.idf(10, 5));
+        assertThat(Bm25.saturate(10.0)).isLessThan(1.0).isGreaterThan(Bm25.saturate(1.0));
+    }
+
+    @Test
+    void indexScoresNameAboveDescriptionAndSortsByScoreThenName() {
+        MarketShopIndex index = new MarketShopIndex();
+        index.put(doc(1L, "김밥천국", Map.of(SearchField.NAME, List.of("김밥천국"))));
+        index.put(doc(2L, "분식나라", Map.of(SearchField.NAME, List.of("분식나라"), SearchField.DESCRIPTION, List.of("김밥 맛집"))));
+        index.put(doc(3L, "김밥나라", Map.of(SearchField.NAME, List.of("김밥나라"))));
+        index.put(doc(4L, "반찬가게", Map.of(SearchField.NAME, List.of("반찬가게"), SearchField.ITEM_NAME, List.of("참치김밥"))));
+        index.put(doc(5L, "떡집", Map.of(SearchField.NAME, List.of("떡집"))));
+
+        List<SearchHit> hits = new ArrayList<>(index.search("김밥"));
+        hits.sort(ShopSearchIndex.comparator(null));
+
+        // 상점명(1, 3: 점수 같음 → 이름순) > 상품명(4) > 설명(2)
+        assertThat(shopIds(hits)).containsExactly(3L, 1L, 4L, 2L);
+        assertThat(hits.get(0).score()).isEqualTo(hits.get(1).score());
+
+        // 알 수 없는 정렬 키만 있으면 기본 정렬, score 오름차순은 그 반대
+        hits.sort(ShopSearchIndex.comparator(Sort.by("unknown")));
+        assertThat(shopIds(hits)).containsExactly(3L, 1L, 4L, 2L);
+        hits.sort(ShopSearchIndex.comparator(Sort.by(Sort.Direction.ASC, "score")));
+        assertThat(shopIds(hits)).containsExactly(2L, 4L, 1L, 3L);
+    }
+}
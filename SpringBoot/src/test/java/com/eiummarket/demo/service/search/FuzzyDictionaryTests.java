@@ -0,0 +1,100 @@
+package com.eiummarket.demo.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 자모 한 글자 오타는 찾고, 허용 거리를 넘는 오타는 버리며, 이미 지난 마감 시각이면 그때까지 찾은 것만 돌려주는지 확인한다.
+ */
+class FuzzyDictionaryTests {
+
+    static long future() {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    }
+
+    static long past() {
+        return System.nanoTime() - 1;
+    }
+
+    @Test
+    void lookupFindsOneEditTypoWithinAllowedDistance() {
+        FuzzyDictionary dictionary = new FuzzyDictionary();
+        dictionary.put(1L, List.of("상추 농장"));
+        dictionary.put(2L, List.of("김밥 천국"));
+
+        // "상초" → "상추": 모음 하나 (ㅗ/ㅜ), "김빱" → "김밥": ㅃ 이 ㅂㅂ 으로 풀려 자모 하나 삽입
+        assertThat(dictionary.lookup("상초", future())).isEqualTo(Map.of(1L, 1));
+        assertThat(dictionary.lookup("김빱", future())).isEqualTo(Map.of(2L, 1));
+        assertThat(dictionary.lookup("상추", future())).isEqualTo(Map.of(1L, 0));
+    }
+
+    @Test
+    void lookupMissesBeyondMaxDistance() {
+        FuzzyDictionary dictionary = new FuzzyDictionary();
+        dictionary.put(1L, List.of("상추 농장"));
+
+        // 자모 5개 토큰은 거리 1까지만 허용: "성초" 는 거리 2
+        assertThat(FuzzyDictionary.allowedDistance(Hangul.decompose("상추"))).isEqualTo(1);
+        assertThat(dictionary.lookup("성초", future())).isEmpty();
+        // 자모 4개 미만 토큰은 오타를 허용하지 않는다
+        assertThat(dictionary.lookup("사", future())).isEmpty();
+
+        dictionary.remove(1L);
+        assertThat(dictionary.lookup("상초", future())).isEmpty();
+    }
+
+    @Test
+    void lookupWithPassedDeadlineReturnsNothing() {
+        FuzzyDictionary dictionary = new FuzzyDictionary();
+        dictionary.put(1L, List.of("상추 농장"));
+
+        assertThat(dictionary.lookup("상초", past())).isEmpty();
+    }
+
+    @Test
+    void fuzzySearchRequiresEveryToken() {
+        MarketShopIndex index = index();
+
+        assertThat(shopIds(index.fuzzySearch("김빱", future()))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(shopIds(index.fuzzySearch("참치 김빱", future()))).containsExactly(2L);
+        assertThat(index.fuzzySearch("성초", future())).isEmpty();
+
+        // 그대로 포함한 토큰은 오타 일치보다 점수가 높다
+        List<SearchHit> hits = index.fuzzySearch("상추", future());
+        assertThat(hits).singleElement().satisfies(hit -> assertThat(hit.score())
+                .isGreaterThan(index.fuzzySearch("상초", future()).get(0).score()));
+    }
+
+    @Test
+    void fuzzySearchWithPassedDeadlineStillRequiresEveryToken() {
+        MarketShopIndex index = index();
+
+        // 오타 사전은 조회하지 않으므로 오타만으로 찾는 문서는 없다
+        assertThat(index.fuzzySearch("김빱", past())).isEmpty();
+        // 남은 토큰도 그대로 포함하는지 확인하므로 '김빱' 이 없는 상추농장은 빠진다
+        assertThat(index.fuzzySearch("상추 김빱", past())).isEmpty();
+        assertThat(shopIds(index.fuzzySearch("참치 김밥", past()))).containsExactly(2L);
+    }
+
+    private static MarketShopIndex index() {
+        MarketShopIndex index = new MarketShopIndex();
+        index.put(doc(1L, "상추농장", Map.of(SearchField.NAME, List.of("상추 농장"))));
+        index.put(doc(2L, "김밥천국", Map.of(SearchField.NAME, List.of("김밥 천국"), SearchField.ITEM_NAME, List.of("참치 김밥"))));
+        index.put(doc(3L, "분식", Map.of(SearchField.NAME, List.of("분식"), SearchField.ITEM_NAME, List.of("김밥", "라면"))));
+        return index;
+    }
+
+    static ShopDoc doc(Long id, String name, Map<SearchField, List<String>> fields) {
+        return new ShopDoc(id, name, LocalDateTime.of(2025, 1, 1, 0, 0).plusDays(id), 0L, 0.0, 0L, fields);
+    }
+
+    static List<Long> shopIds(List<SearchHit> hits) {
+        return hits.stream().map(hit -> hit.doc().shopId).toList();
+    }
+}
@@ -0,0 +1,91 @@
+package com.eiummarket.demo.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 초성만 입력, 끝 글자가 낱자모인 입력("김ㅂ"), 영문·숫자가 섞인 이름, 문서 삭제·교체를 확인한다.
+ */
+class JamoIndexTests {
+
+    JamoIndex index = new JamoIndex();
+
+    @Test
+    void decomposesSyllablesAndCompoundJamo() {
+        assertThat(Hangul.choseong("김밥 천국")).isEqualTo("ㄱㅂㅊㄱ");
+        assertThat(Hangul.choseong("꽃집")).isEqualTo("ㄲㅈ");
+        assertThat(Hangul.decompose("닭")).isEqualTo("ㄷㅏㄹㄱ");
+        assertThat(Hangul.decompose("김ㅄ")).isEqualTo("ㄱㅣㅁㅂㅅ");
+
+        assertThat(Hangul.isChoseongQuery("ㄱ ㅂ")).isTrue();
+        assertThat(Hangul.isChoseongQuery("김ㅂ")).isFalse();
+        assertThat(Hangul.isChoseongQuery("ㅏ")).isFalse();
+        assertThat(Hangul.hasLooseJamo("김ㅂ")).isTrue();
+        assertThat(Hangul.hasLooseJamo("김밥")).isFalse();
+    }
+
+    @Test
+    void choseongOnlyQueryMatchesInitialConsonants() {
+        index.put(1L, List.of("김밥천국"));
+        index.put(2L, List.of("김치찌개"));
+        index.put(3L, List.of("꽃집"));
+
+        assertThat(index.search("ㄱㅂ")).containsExactly(1L);
+        assertThat(index.search("ㄱ ㅊ")).containsExactly(2L);
+        assertThat(index.search("ㄱ")).containsExactlyInAnyOrder(1L, 2L);
+        // 된소리는 된소리로만 일치
+        assertThat(index.search("ㄲㅈ")).containsExactly(3L);
+        assertThat(JamoIndex.matches("김밥천국", "ㅊㄱ")).isTrue();
+    }
+
+    @Test
+    void trailingPartialJamoMatchesSyllablesInProgress() {
+        index.put(1L, List.of("김밥천국"));
+        index.put(2L, List.of("김치찌개"));
+        index.put(3L, List.of("닭강정"));
+
+        assertThat(index.search("김ㅂ")).containsExactly(1L);
+        assertThat(index.search("김바")).containsExactly(1L);
+        assertThat(index.search("김ㅊ")).containsExactly(2L);
+        // 겹받침도 입력 중인 자모로 일치한다 ("달ㄱ" → "닭")
+        assertThat(index.search("달ㄱ")).containsExactly(3L);
+        assertThat(index.search("김ㄷ")).isEmpty();
+    }
+
+    @Test
+    void mixedLatinAndHangulNames() {
+        index.put(1L, List.of("gs25 편의점"));
+        index.put(2L, List.of("cafe 봄"));
+        index.put(3L, List.of("market"));
+
+        assertThat(index.search("gs25ㅍ")).containsExactly(1L);
+        assertThat(index.search("ㅍㅇㅈ")).containsExactly(1L);
+        assertThat(index.search("cafe보")).containsExactly(2L);
+        // 한글이 없는 이름·검색어는 본 색인이 맡으므로 자모 색인에는 없다
+        assertThat(JamoIndex.applies("market")).isFalse();
+        assertThat(index.search("market")).isEmpty();
+        assertThat(index.search("ㅁ")).isEmpty();
+    }
+
+    @Test
+    void removeAndReplaceDropOldKeys() {
+        index.put(1L, List.of("김밥천국"));
+        index.put(2L, List.of("김밥나라"));
+
+        index.remove(1L);
+        assertThat(index.search("ㄱㅂ")).containsExactly(2L);
+        assertThat(index.search("천ㄱ")).isEmpty();
+
+        // 이름이 바뀌면 이전 키로는 찾을 수 없다
+        index.put(2L, List.of("떡볶이"));
+        assertThat(index.search("ㄱㅂ")).isEmpty();
+        assertThat(index.search("ㄸㅂ")).containsExactly(2L);
+
+        index.remove(2L);
+        index.remove(3L);
+        assertThat(index.search("ㄸ")).isEmpty();
+    }
+}
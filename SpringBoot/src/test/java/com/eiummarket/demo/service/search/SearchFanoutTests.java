@@ -0,0 +1,89 @@
+package com.eiummarket.demo.service.search;
+
+import com.eiummarket.demo.dto.ShopDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 시간 초과된 branch 가 있으면 결과가 partial 로 표시되고, 그런 검색 결과는 캐시에 남지 않는지 확인한다.
+ */
+class SearchFanoutTests {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    SearchFanout fanout = new SearchFanout(transactionManager(), meterRegistry, 100);
+
+    @AfterEach
+    void shutdown() {
+        fanout.shutdown();
+    }
+
+    @Test
+    void timedOutBranchMarksResultsPartial() {
+        SearchFanout.Results<Long> results = fanout.run("shop", List.of(
+                new SearchFanout.Branch<>("name", () -> List.of(1L)),
+                new SearchFanout.Branch<>("item", () -> {
+                    sleep(2_000);
+                    return List.of(2L);
+                })));
+
+        assertThat(results.partial()).isTrue();
+        assertThat(results.get(0)).containsExactly(1L);
+        assertThat(results.get(1)).isEmpty();
+        assertThat(meterRegistry.counter("search.branch.timeout", "search", "shop", "branch", "item").count()).isEqualTo(1);
+
+        SearchFanout.Results<Long> complete = fanout.run("shop", List.of(new SearchFanout.Branch<>("name", () -> List.of(1L))));
+        assertThat(complete.partial()).isFalse();
+    }
+
+    @Test
+    void partialResultsAreNotCached() {
+        SearchResultCache cache = new SearchResultCache(meterRegistry, 100, Duration.ofMinutes(1));
+        PageRequest pageable = PageRequest.of(0, 10);
+        Page<ShopDto.Card> page = new PageImpl<>(List.of(), pageable, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, "김밥", pageable, () -> {
+            loads.incrementAndGet();
+            return SearchResultCache.Loaded.partial(page);
+        });
+        cache.get(1L, "김밥", pageable, () -> {
+            loads.incrementAndGet();
+            return SearchResultCache.Loaded.of(page);
+        });
+        cache.get(1L, "김밥", pageable, () -> {
+            loads.incrementAndGet();
+            return SearchResultCache.Loaded.of(page);
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private static PlatformTransactionManager transactionManager() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return transactionManager;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
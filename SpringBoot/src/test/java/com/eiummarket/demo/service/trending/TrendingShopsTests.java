@@ -0,0 +1,82 @@
+package com.eiummarket.demo.service.trending;
+
+import com.eiummarket.demo.service.trending.TrendingShops.Signal;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가중 점수순 정렬과, 7일 창에서 밀려난 시간 버킷이 점수에서 빠지는지 확인한다.
+ */
+class TrendingShopsTests {
+
+    static final Long MARKET = 1L;
+
+    MutableClock clock = new MutableClock(Instant.parse("2025-08-13T10:15:00Z"));
+    TrendingShops trending = new TrendingShops(clock, 1, 5, 10);
+
+    @Test
+    void ranksShopsByWeightedActivity() {
+        trending.record(MARKET, 1L, Signal.VIEW, 3);
+        trending.record(MARKET, 2L, Signal.LIKE, 1);
+        trending.record(MARKET, 3L, Signal.REVIEW, 1);
+        trending.record(MARKET, 4L, Signal.LIKE, 1);
+        trending.record(MARKET, 4L, Signal.LIKE, -1);
+
+        assertThat(trending.top(MARKET, 10)).containsExactly(3L, 2L, 1L);
+        assertThat(trending.top(MARKET, 2)).containsExactly(3L, 2L);
+        assertThat(trending.top(2L, 10)).isEmpty();
+    }
+
+    @Test
+    void activityOlderThanSevenDaysDropsOut() {
+        trending.record(MARKET, 1L, Signal.REVIEW, 1);
+        clock.advance(Duration.ofDays(3));
+        trending.record(MARKET, 2L, Signal.LIKE, 1);
+        trending.record(MARKET, 1L, Signal.VIEW, 1);
+        assertThat(trending.top(MARKET, 10)).containsExactly(1L, 2L);
+
+        // 첫 리뷰는 창에서 빠지고 3일 전 조회만 남는다
+        clock.advance(Duration.ofDays(4).plusHours(1));
+        trending.advance();
+        assertThat(trending.score(MARKET, 1L)).isEqualTo(1);
+        assertThat(trending.top(MARKET, 10)).containsExactly(2L, 1L);
+
+        clock.advance(Duration.ofDays(7));
+        trending.advance();
+        assertThat(trending.top(MARKET, 10)).isEmpty();
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.eiummarket.demo.support;
+
+import com.eiummarket.demo.monitoring.QueryStats;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 엔드포인트 SQL 예산 검증 유틸리티.
+ * EndpointQueryInterceptor 가 요청에 남긴 {@link QueryStats}를 읽어 실행된 SQL 문 수를 확인한다.
+ *
+ *   QueryBudget.assertAtMost(mockMvc, get("/markets/{id}/shops", marketId), 3);
+ */
+public final class QueryBudget {
+    private QueryBudget() {}
+
+    /** 요청을 실행해 2xx 응답과 SQL 문 수가 max 이하인지 확인 */
+    public static MvcResult assertAtMost(MockMvc mockMvc, MockHttpServletRequestBuilder request, long max) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        String endpoint = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+
+        assertThat(result.getResponse().getStatus())
+                .as("%s status", endpoint)
+                .isBetween(200, 299);
+        assertStatements(result, endpoint, max);
+        return result;
+    }
+
+    /** 조건부 요청(If-None-Match 등)을 실행해 304 응답과 SQL 문 수가 max 이하인지 확인 */
+    public static MvcResult assertNotModifiedWithin(MockMvc mockMvc, MockHttpServletRequestBuilder request, long max) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        String endpoint = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+
+        assertThat(result.getResponse().getStatus())
+                .as("%s status", endpoint)
+                .isEqualTo(304);
+        assertThat(result.getResponse().getContentAsByteArray())
+                .as("%s 304 body", endpoint)
+                .isEmpty();
+        assertStatements(result, endpoint, max);
+        return result;
+    }
+
+    private static void assertStatements(MvcResult result, String endpoint, long max) {
+        QueryStats stats = (QueryStats) result.getRequest().getAttribute(QueryStats.REQUEST_ATTRIBUTE);
+        assertThat(stats)
+                .as("%s was not measured (is EndpointQueryInterceptor registered?)", endpoint)
+                .isNotNull();
+        assertThat(stats.statements())
+                .as("%s issued %d SQL statements, budget is %d", endpoint, stats.statements(), max)
+                .isLessThanOrEqualTo(max);
+    }
+}